@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+
+    private BookingService bookingService;
+    private long bookerId;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItContext context) {
+        bookingService = context.getBean(BookingService.class);
+        bookerId = context.getDataset().bookerIdOf(1);
+        ownerId = context.getDataset().ownerIdOf(1);
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> getAllBookingsByUserId(ShareItContext context) {
+        return context.inTransaction(() -> bookingService.getAllBookingsByUserId(bookerId, state, 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> getAllBookingsByItemOwnerId(ShareItContext context) {
+        return context.inTransaction(() -> bookingService.getAllBookingsByItemOwnerId(ownerId, state, 0, PAGE_SIZE));
+    }
+}
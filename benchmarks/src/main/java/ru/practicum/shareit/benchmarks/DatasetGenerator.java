@@ -0,0 +1,126 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DatasetGenerator {
+
+    static final String[] WORDS = {"drill", "hammer", "saw", "ladder", "tent", "bike", "camera", "kayak"};
+    static final int USERS_PER_ROLE_RATIO = 50;
+    static final int SHOP_ITEM_RATIO = 10;
+    static final long SHOP_OWNER_ID = 1;
+    static final int BOOKINGS_PER_ITEM = 4;
+    static final int COMMENTS_PER_ITEM = 2;
+    static final int BATCH_SIZE = 10_000;
+    static final String INSERT_USER = "INSERT INTO users (id, name, email) VALUES (?, ?, ?)";
+    static final String INSERT_ITEM = "INSERT INTO items (id, name, description, available, owner_id) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_BOOKING = "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, " +
+            "status, owner_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    static final String INSERT_COMMENT = "INSERT INTO comments (id, text, item_id, author_id, created) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int itemCount;
+    private final int ownerCount;
+    private final int bookerCount;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, int itemCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.itemCount = itemCount;
+        this.ownerCount = Math.max(1, itemCount / USERS_PER_ROLE_RATIO);
+        this.bookerCount = Math.max(1, itemCount / USERS_PER_ROLE_RATIO);
+    }
+
+    public void generate() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= ownerCount + bookerCount; i++) {
+            users.add(new Object[]{i, "User " + i, "user" + i + "@shareit.ru"});
+            flushIfFull(INSERT_USER, users);
+        }
+        flush(INSERT_USER, users);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            String word = WORDS[i % WORDS.length];
+            items.add(new Object[]{i, word + " " + i, "Good " + word + " for rent", i % 10 != 0,
+                    ownerIdOf(i)});
+            flushIfFull(INSERT_ITEM, items);
+        }
+        flush(INSERT_ITEM, items);
+
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long bookingId = 1;
+        long commentId = 1;
+        for (int i = 1; i <= itemCount; i++) {
+            String word = WORDS[i % WORDS.length];
+            for (int k = 0; k < BOOKINGS_PER_ITEM; k++) {
+                LocalDateTime start = now.plusDays(2L * k - 3).plusMinutes(i);
+                bookings.add(new Object[]{bookingId++, Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusDays(2)), i, bookerIdOf(i + k), bookingStatus(k), ownerIdOf(i)});
+            }
+            for (int k = 0; k < COMMENTS_PER_ITEM; k++) {
+                comments.add(new Object[]{commentId++, "Comment " + k + " on " + word, i, bookerIdOf(i + k),
+                        Timestamp.valueOf(now.minusDays(k + 1))});
+            }
+            flushIfFull(INSERT_BOOKING, bookings);
+            flushIfFull(INSERT_COMMENT, comments);
+        }
+        flush(INSERT_BOOKING, bookings);
+        flush(INSERT_COMMENT, comments);
+    }
+
+    public boolean isGenerated() {
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (users == null || users == 0) {
+            return false;
+        }
+        Long comments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments", Long.class);
+        if (users != ownerCount + bookerCount || comments == null || comments != (long) itemCount * COMMENTS_PER_ITEM) {
+            throw new IllegalStateException("Database holds an incomplete or different dataset than datasetSize="
+                    + itemCount + ", remove it to regenerate");
+        }
+        return true;
+    }
+
+    public long ownerIdOf(long itemId) {
+        if (itemId % SHOP_ITEM_RATIO == 1) {
+            return SHOP_OWNER_ID;
+        }
+        return (itemId - 1) % ownerCount + 1;
+    }
+
+    public long bookerIdOf(long seed) {
+        return ownerCount + (seed - 1) % bookerCount + 1;
+    }
+
+    private String bookingStatus(int k) {
+        switch (k % BOOKINGS_PER_ITEM) {
+            case 2:
+                return "WAITING";
+            case 3:
+                return "REJECTED";
+            default:
+                return "APPROVED";
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            flush(sql, rows);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+    private long ownerId;
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItContext context) {
+        itemService = context.getBean(ItemService.class);
+        itemId = 1;
+        ownerId = context.getDataset().ownerIdOf(itemId);
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBooking> getAllItemsByUserId(ShareItContext context) {
+        return context.inTransaction(() -> itemService.getAllItemsByUserId(ownerId, 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ItemDtoWithBooking getItemById(ShareItContext context) {
+        return context.inTransaction(() -> itemService.getItemById(itemId, ownerId));
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LoadTest {
+
+    private static final String DEFAULT_RESULT = "target/load-test-result.json";
+    private static final List<String> THREAD_MODES = List.of("platform", "virtual");
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int datasetSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        List<Result> results = new ArrayList<>();
+        for (String threadMode : THREAD_MODES) {
+            run(threadMode, concurrency, duration, datasetSize).ifPresent(results::add);
+        }
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File resultFile = new File(DEFAULT_RESULT);
+        resultFile.getParentFile().mkdirs();
+        mapper.writeValue(resultFile, results);
+        System.out.println(mapper.writeValueAsString(results));
+    }
+
+    private static Optional<Result> run(String threadMode, int concurrency, Duration duration, int datasetSize)
+            throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "shareit.threads.mode=" + threadMode,
+                        "spring.datasource.url=jdbc:h2:mem:shareit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run()) {
+            String threads = requestThreads(context);
+            if (!threads.equals(threadMode)) {
+                System.err.printf("Skipping %s run: Java %s handles requests on %s threads%n", threadMode,
+                        System.getProperty("java.version"), threads);
+                return Optional.empty();
+            }
+            DatasetGenerator dataset = new DatasetGenerator(context.getBean(JdbcTemplate.class), datasetSize);
+            dataset.generate();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            drive(httpClient, baseUrl, dataset, datasetSize, concurrency, duration.dividedBy(5));
+            return Optional.of(new Result(threads, concurrency, duration,
+                    drive(httpClient, baseUrl, dataset, datasetSize, concurrency, duration)));
+        }
+    }
+
+    private static String requestThreads(ConfigurableApplicationContext context) throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) ((WebServerApplicationContext) context).getWebServer();
+        Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(isVirtual(Thread.currentThread())));
+        return virtual.get() ? "virtual" : "platform";
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static List<long[]> drive(HttpClient httpClient, String baseUrl, DatasetGenerator dataset,
+                                      int datasetSize, int concurrency, Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                long errors = 0;
+                while (System.nanoTime() < deadline) {
+                    long itemId = ThreadLocalRandom.current().nextInt(datasetSize) + 1;
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/items/" + itemId))
+                            .header("X-Sharer-User-Id", String.valueOf(dataset.ownerIdOf(itemId)))
+                            .build();
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies.add(System.nanoTime() - start);
+                    if (response.statusCode() != 200) {
+                        errors++;
+                    }
+                }
+                long[] samples = new long[latencies.size() + 1];
+                samples[0] = errors;
+                for (int j = 0; j < latencies.size(); j++) {
+                    samples[j + 1] = latencies.get(j);
+                }
+                return samples;
+            }));
+        }
+        List<long[]> samples = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            samples.add(future.get());
+        }
+        workers.shutdown();
+        return samples;
+    }
+
+    public static class Result {
+        public final String threadMode;
+        public final String javaVersion = System.getProperty("java.version");
+        public final int concurrency;
+        public final long requests;
+        public final long errors;
+        public final double throughput;
+        public final double p50Millis;
+        public final double p99Millis;
+
+        Result(String threadMode, int concurrency, Duration duration, List<long[]> samples) {
+            this.threadMode = threadMode;
+            this.concurrency = concurrency;
+            long[] latencies = samples.stream()
+                    .flatMapToLong(workerSamples -> Arrays.stream(workerSamples, 1, workerSamples.length))
+                    .sorted()
+                    .toArray();
+            this.requests = latencies.length;
+            this.errors = samples.stream().mapToLong(workerSamples -> workerSamples[0]).sum();
+            this.throughput = requests / (duration.toMillis() / 1000.0);
+            this.p50Millis = percentile(latencies, 0.50);
+            this.p99Millis = percentile(latencies, 0.99);
+        }
+
+        private static double percentile(long[] sortedLatencies, double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoItem;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private static final int COMMENT_COUNT = 20;
+
+    private Item item;
+    private Booking booking;
+    private Comment comment;
+    private List<CommentResponseDto> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "Owner", "owner@shareit.ru");
+        User booker = new User(2, "Booker", "booker@shareit.ru");
+        item = new Item(1, "drill", "Good drill for rent", true, owner, null, 0);
+        booking = new Booking(1, now.minusDays(1), now.plusDays(1), item, booker, BookingStatus.APPROVED);
+        comment = new Comment(1, "Great drill", item, booker, now);
+        comments = new ArrayList<>();
+        for (int i = 0; i < COMMENT_COUNT; i++) {
+            comments.add(CommentMapper.toCommentResponseDto(comment));
+        }
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDtoWithBooking itemDtoWithBooking() {
+        return ItemMapper.itemDtoWithBooking(item, comments);
+    }
+
+    @Benchmark
+    public BookingDtoResponse toBookingDtoResponse() {
+        return BookingMapper.toBookingDtoResponse(booking);
+    }
+
+    @Benchmark
+    public BookingDtoItem toBookingDtoItem() {
+        return BookingMapper.toBookingDtoItem(booking);
+    }
+
+    @Benchmark
+    public CommentResponseDto toCommentResponseDto() {
+        return CommentMapper.toCommentResponseDto(comment);
+    }
+}
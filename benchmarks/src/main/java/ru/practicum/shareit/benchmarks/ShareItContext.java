@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+public class ShareItContext {
+
+    private static final String DATABASE_DIR_PROPERTY = "shareit.benchmark.database-dir";
+    private static final String POSTGRES_URL_PROPERTY = "shareit.benchmark.postgres-url";
+    private static final String POSTGRES_USER = "root";
+    private static final int FILE_DATABASE_CACHE_KB = 512 * 1024;
+
+    @Param({"1000", "10000"})
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private DatasetGenerator dataset;
+
+    @Setup(Level.Trial)
+    public void start() {
+        launch();
+    }
+
+    void launch(String... arguments) {
+        String postgresUrl = System.getProperty(POSTGRES_URL_PROPERTY);
+        String[] args = Arrays.copyOf(arguments, arguments.length + 1);
+        args[arguments.length] = "--spring.datasource.url=" + (postgresUrl == null ? h2Url()
+                : postgresUrl(postgresUrl));
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+        if (postgresUrl == null) {
+            application.profiles("test");
+        }
+        context = application.run(args);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        dataset = new DatasetGenerator(context.getBean(JdbcTemplate.class), datasetSize);
+        if (!dataset.isGenerated()) {
+            dataset.generate();
+            if (postgresUrl != null) {
+                context.getBean(JdbcTemplate.class).execute("ANALYZE");
+            }
+        }
+    }
+
+    private String h2Url() {
+        String databaseDir = System.getProperty(DATABASE_DIR_PROPERTY);
+        return databaseDir == null
+                ? "jdbc:h2:mem:shareit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"
+                : "jdbc:h2:file:" + Paths.get(databaseDir, "shareit-" + datasetSize).toAbsolutePath()
+                + ";CACHE_SIZE=" + FILE_DATABASE_CACHE_KB;
+    }
+
+    /**
+     * One database per dataset size on the server at {@code baseUrl}, created on first use, so the production
+     * profile migrates it with the PostgreSQL-only scripts (trigram indexes, overlap constraint) as well.
+     */
+    private String postgresUrl(String baseUrl) {
+        String database = "shareit_" + datasetSize;
+        try (Connection connection = DriverManager.getConnection(baseUrl + "/postgres", POSTGRES_USER,
+                POSTGRES_USER);
+             Statement statement = connection.createStatement()) {
+            ResultSet exists = statement.executeQuery(
+                    "SELECT 1 FROM pg_database WHERE datname = '" + database + "'");
+            if (!exists.next()) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot prepare benchmark database " + database, e);
+        }
+        return baseUrl + "/" + database + "?reWriteBatchedInserts=true";
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public DatasetGenerator getDataset() {
+        return dataset;
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -2,15 +2,19 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,17 +24,19 @@ public class BookingClient extends BaseClient {
     @Value("${bookings.get.with.status.path}")
     private String getAllPath;
 
+    @Value("${bookings.get.with.cursor.path}")
+    private String getAfterCursorPath;
+
+    @Value("${ids.get.path}")
+    private String idsPath;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                         RequestCoalescer coalescer, ResponseCache responseCache) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), coalescer, responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getBookingsByUserId(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getBookingsByUserId(long userId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -39,23 +45,47 @@ public class BookingClient extends BaseClient {
         return get(getAllPath, userId, parameters);
     }
 
+    public Mono<ResponseEntity<byte[]>> getBookingsByUserIdAfterCursor(long userId, BookingState state, String cursor,
+                                                                 Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get(getAfterCursorPath, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookingsByIds(long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get(idsPath, userId, parameters);
+    }
 
-    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(long bookingId, long userId, boolean approved) {
+    public Mono<ResponseEntity<byte[]>> approveBooking(long bookingId, long userId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingsByItemOwnerId(long userId, BookingState state,
+    public Mono<ResponseEntity<byte[]>> approveBookings(long userId, boolean approved,
+                                                        BookingBatchRequestDto requestDto) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("/batch?approved={approved}", userId, parameters, requestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookingsByItemOwnerId(long userId, BookingState state,
                                                            Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
@@ -64,4 +94,14 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner/" + getAllPath, userId, parameters);
     }
+
+    public Mono<ResponseEntity<byte[]>> getBookingsByItemOwnerIdAfterCursor(long userId, BookingState state,
+                                                                      String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner/" + getAfterCursorPath, userId, parameters);
+    }
 }
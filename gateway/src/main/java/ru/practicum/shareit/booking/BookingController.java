@@ -7,13 +7,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.BookingWrongStatusException;
+import ru.practicum.shareit.utils.IdListLimit;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,54 +26,85 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class BookingController {
 	private final BookingClient bookingClient;
+	private final IdListLimit idListLimit;
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
 	@GetMapping
-	public ResponseEntity<Object> getBookingsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
-													  @RequestParam(name = "state", defaultValue = "all")
-													  String stateParam,
-													  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-														  Integer from,
-													  @Positive @RequestParam(name = "size", defaultValue = "10")
-														  Integer size) {
+	public Mono<ResponseEntity<byte[]>> getBookingsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+															@RequestParam(name = "state", defaultValue = "all")
+															String stateParam,
+															@PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+																Integer from,
+															@Positive @RequestParam(name = "size", defaultValue = "10")
+																Integer size,
+															@RequestParam(name = "cursor", required = false)
+																String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new BookingWrongStatusException("Unknown state: " + stateParam));
+		if (cursor != null) {
+			log.info("Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+			return bookingClient.getBookingsByUserIdAfterCursor(userId, state, cursor, size);
+		}
 		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
 		return bookingClient.getBookingsByUserId(userId, state, from, size);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestBody @Valid BookItemRequestDto requestDto,
-										   @RequestHeader(USER_ID_HEADER) long userId) {
+	public Mono<ResponseEntity<byte[]>> bookItem(@RequestBody @Valid BookItemRequestDto requestDto,
+												 @RequestHeader(USER_ID_HEADER) long userId) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
+	@GetMapping(params = "ids")
+	public Mono<ResponseEntity<byte[]>> getBookingsByIds(@RequestHeader(USER_ID_HEADER) long userId,
+														 @RequestParam List<@Positive Long> ids) {
+		log.info("Get bookings {}, userId={}", ids, userId);
+		idListLimit.check(ids);
+		return bookingClient.getBookingsByIds(userId, ids);
+	}
+
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
-											 @PathVariable Long bookingId) {
+	public Mono<ResponseEntity<byte[]>> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
+												   @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approve(@PathVariable long bookingId,
-										  @RequestParam boolean approved,
-										  @RequestHeader(USER_ID_HEADER) long userId) {
+	public Mono<ResponseEntity<byte[]>> approve(@PathVariable long bookingId,
+												@RequestParam boolean approved,
+												@RequestHeader(USER_ID_HEADER) long userId) {
 		log.info("Update booking {}, userId={}", bookingId, userId);
 		return bookingClient.approveBooking(bookingId, userId, approved);
 	}
 
+	@PatchMapping("/batch")
+	public Mono<ResponseEntity<byte[]>> approveAll(@RequestBody @Valid BookingBatchRequestDto requestDto,
+												   @RequestParam boolean approved,
+												   @RequestHeader(USER_ID_HEADER) long userId) {
+		log.info("Update {} bookings, approved={}, userId={}", requestDto.getBookingIds().size(), approved, userId);
+		idListLimit.check(requestDto.getBookingIds());
+		return bookingClient.approveBookings(userId, approved, requestDto);
+	}
+
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsByItemOwnerId(@RequestHeader(USER_ID_HEADER) long userId,
-														   @RequestParam(name = "state", defaultValue = "all")
-														   String stateParam,
-														   @PositiveOrZero @RequestParam(name = "from",
-																   defaultValue = "0") Integer from,
-														   @Positive @RequestParam(name = "size", defaultValue = "10")
-															   Integer size) {
+	public Mono<ResponseEntity<byte[]>> getBookingsByItemOwnerId(@RequestHeader(USER_ID_HEADER) long userId,
+																 @RequestParam(name = "state", defaultValue = "all")
+																 String stateParam,
+																 @PositiveOrZero @RequestParam(name = "from",
+																		 defaultValue = "0") Integer from,
+																 @Positive @RequestParam(name = "size", defaultValue = "10")
+																	 Integer size,
+																 @RequestParam(name = "cursor", required = false)
+																	 String cursor) {
 			BookingState state = BookingState.from(stateParam)
 					.orElseThrow(() -> new BookingWrongStatusException("Unknown state: " + stateParam));
+			if (cursor != null) {
+				log.info("Get owner bookings with state {}, userId={}, cursor={}, size={}", stateParam, userId,
+						cursor, size);
+				return bookingClient.getBookingsByItemOwnerIdAfterCursor(userId, state, cursor, size);
+			}
 			log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
 			return bookingClient.getBookingsByItemOwnerId(userId, state, from, size);
 		}
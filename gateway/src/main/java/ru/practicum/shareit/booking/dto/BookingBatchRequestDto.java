@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchRequestDto {
+	@NotEmpty
+	private List<@NotNull @Positive Long> bookingIds;
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class LookupBatcher {
+    private static final String BATCH_PATH = "/lookups?ids={ids}";
+
+    private final ServerExchange server;
+    private final LookupBatchingProperties properties;
+    private final ObjectMapper mapper;
+    private final DistributionSummary batchSizes;
+    private final Map<String, Batch> pending = new ConcurrentHashMap<>();
+
+    LookupBatcher(ServerExchange server, LookupBatchingProperties properties, ObjectMapper mapper,
+                  DistributionSummary batchSizes) {
+        this.server = server;
+        this.properties = properties;
+        this.mapper = mapper;
+        this.batchSizes = batchSizes;
+    }
+
+    public Mono<ResponseEntity<byte[]>> load(RequestKey key, long id, HttpHeaders headers,
+                                             Supplier<Mono<ResponseEntity<byte[]>>> single) {
+        if (key.findGetRoute(properties.getRoutes()) == null) {
+            return single.get();
+        }
+        return Mono.defer(() -> {
+            String batchKey = String.valueOf(key.getUserId());
+            while (true) {
+                Batch batch = pending.computeIfAbsent(batchKey, k -> open(k, headers));
+                Mono<ResponseEntity<byte[]>> result = batch.add(id, single);
+                if (result != null) {
+                    return result;
+                }
+            }
+        });
+    }
+
+    private Batch open(String batchKey, HttpHeaders headers) {
+        HttpHeaders batchHeaders = new HttpHeaders();
+        batchHeaders.addAll(headers);
+        batchHeaders.remove(HttpHeaders.IF_NONE_MATCH);
+        Batch batch = new Batch(batchKey, batchHeaders);
+        Schedulers.parallel().schedule(() -> flush(batch), properties.getWindow().toMillis(), TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    private void flush(Batch batch) {
+        if (!batch.close()) {
+            return;
+        }
+        batchSizes.record(batch.lookups.size());
+        if (batch.lookups.size() == 1) {
+            batch.lookups.keySet().forEach(id -> fallBack(batch, id));
+            return;
+        }
+        String ids = batch.lookups.keySet().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        server.exchange(HttpMethod.GET, BATCH_PATH, batch.headers, Map.of("ids", ids), null)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(response -> complete(batch, response), e -> {
+                    log.warn("Batch lookup of {} ids failed, falling back to single lookups", ids, e);
+                    batch.lookups.keySet().forEach(id -> fallBack(batch, id));
+                });
+    }
+
+    private void complete(Batch batch, ResponseEntity<byte[]> response) {
+        Map<Long, ResponseEntity<byte[]>> found = response.getStatusCode() == HttpStatus.OK
+                ? split(response.getBody())
+                : Map.of();
+        batch.lookups.forEach((id, sink) -> {
+            ResponseEntity<byte[]> entry = found.get(id);
+            if (entry != null) {
+                sink.tryEmitValue(entry);
+            } else {
+                fallBack(batch, id);
+            }
+        });
+    }
+
+    private Map<Long, ResponseEntity<byte[]>> split(byte[] body) {
+        Map<Long, ResponseEntity<byte[]>> entries = new HashMap<>();
+        try {
+            for (JsonNode entry : mapper.readTree(body)) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setETag("\"" + entry.get("etag").asText() + "\"");
+                entries.put(entry.get("id").asLong(),
+                        new ResponseEntity<>(mapper.writeValueAsBytes(entry.get("value")), headers, HttpStatus.OK));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not split batch lookup response, falling back to single lookups", e);
+            return Map.of();
+        }
+        return entries;
+    }
+
+    private void fallBack(Batch batch, long id) {
+        Sinks.One<ResponseEntity<byte[]>> sink = batch.lookups.get(id);
+        batch.fallbacks.get(id).get()
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(sink::tryEmitValue, sink::tryEmitError);
+    }
+
+    private class Batch {
+        private final String key;
+        private final HttpHeaders headers;
+        private final Map<Long, Sinks.One<ResponseEntity<byte[]>>> lookups = new LinkedHashMap<>();
+        private final Map<Long, Supplier<Mono<ResponseEntity<byte[]>>>> fallbacks = new HashMap<>();
+        private boolean closed;
+
+        private Batch(String key, HttpHeaders headers) {
+            this.key = key;
+            this.headers = headers;
+        }
+
+        private Mono<ResponseEntity<byte[]>> add(long id, Supplier<Mono<ResponseEntity<byte[]>>> single) {
+            Sinks.One<ResponseEntity<byte[]>> sink;
+            boolean full;
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                sink = lookups.computeIfAbsent(id, k -> Sinks.one());
+                fallbacks.putIfAbsent(id, single);
+                full = lookups.size() >= properties.getMaxSize();
+            }
+            if (full) {
+                Schedulers.parallel().schedule(() -> flush(this));
+            }
+            return sink.asMono();
+        }
+
+        private synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.remove(key, this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LookupBatchingProperties.class)
+public class LookupBatcherFactory {
+    private final LookupBatchingProperties properties;
+    private final ObjectMapper mapper;
+    private final MeterRegistry meterRegistry;
+
+    public LookupBatcher create(ServerExchange server, String apiPrefix) {
+        return new LookupBatcher(server, properties, mapper, meterRegistry.summary(
+                "shareit.gateway.batching.size", "route", apiPrefix));
+    }
+}
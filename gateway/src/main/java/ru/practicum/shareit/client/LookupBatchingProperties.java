@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.batching")
+public class LookupBatchingProperties {
+    private List<String> routes = new ArrayList<>();
+    private Duration window = Duration.ofMillis(5);
+    private int maxSize = 100;
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RequestCoalescingProperties.class)
+public class RequestCoalescer {
+    private final RequestCoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<RequestKey, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<ResponseEntity<byte[]>> coalesce(RequestKey key, Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        String route = key.findGetRoute(properties.getRoutes());
+        if (route == null) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            AtomicReference<Mono<ResponseEntity<byte[]>>> registered = new AtomicReference<>();
+            Mono<ResponseEntity<byte[]>> shared = call.get()
+                    .doFinally(signal -> inFlight.remove(key, registered.get()))
+                    .cache();
+            registered.set(shared);
+            Mono<ResponseEntity<byte[]>> pending = inFlight.putIfAbsent(key, shared);
+            if (pending != null) {
+                meterRegistry.counter("shareit.gateway.coalescing.collapsed", "route", route).increment();
+                return pending;
+            }
+            meterRegistry.counter("shareit.gateway.coalescing.upstream", "route", route).increment();
+            return shared;
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.coalescing")
+public class RequestCoalescingProperties {
+    private List<String> routes = new ArrayList<>();
+}
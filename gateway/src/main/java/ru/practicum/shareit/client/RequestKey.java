@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class RequestKey {
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    HttpMethod method;
+    String path;
+    Long userId;
+    Map<String, Object> parameters;
+
+    @Nullable
+    public String findGetRoute(List<String> routes) {
+        if (method != HttpMethod.GET) {
+            return null;
+        }
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        return routes.stream()
+                .filter(pattern -> PATH_MATCHER.match(pattern, route))
+                .findFirst()
+                .orElse(null);
+    }
+}
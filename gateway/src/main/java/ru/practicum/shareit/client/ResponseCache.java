@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<RequestKey, ResponseEntity<byte[]>> responses;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway-responses");
+    }
+
+    public Mono<ResponseEntity<byte[]>> revalidate(RequestKey key, HttpHeaders headers,
+                                                   Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        String route = key.findGetRoute(properties.getRoutes());
+        if (route == null) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            ResponseEntity<byte[]> cached = responses.getIfPresent(key);
+            if (cached != null) {
+                headers.setIfNoneMatch(List.of(cached.getHeaders().getETag()));
+            }
+            return call.get().map(response -> {
+                if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    meterRegistry.counter("shareit.gateway.cache.not.modified", "route", route).increment();
+                    return cached;
+                }
+                if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+                    responses.put(key, response);
+                } else {
+                    responses.invalidate(key);
+                }
+                return response;
+            });
+        });
+    }
+}
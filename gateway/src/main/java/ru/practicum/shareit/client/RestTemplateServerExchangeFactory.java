@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RestTemplateServerExchangeFactory implements ServerExchangeFactory {
+    private final RestTemplateBuilder builder;
+    private final ClientHttpRequestFactory requestFactory;
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        RestTemplate rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+        return (method, path, headers, parameters, body) ->
+                Mono.fromCallable(() -> exchange(rest, method, path, headers, parameters, body));
+    }
+
+    private static ResponseEntity<byte[]> exchange(RestTemplate rest, HttpMethod method, String path,
+                                                   HttpHeaders headers, @Nullable Map<String, Object> parameters,
+                                                   @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        try {
+            if (parameters != null) {
+                return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            }
+            return rest.exchange(path, method, requestEntity, byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsByteArray(), e.getResponseHeaders(), e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+public class WebClientServerExchangeFactory implements ServerExchangeFactory {
+    private final WebClient.Builder builder;
+
+    public WebClientServerExchangeFactory(WebClient.Builder builder, ClientHttpConnector connector) {
+        this.builder = builder.clientConnector(connector);
+    }
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        WebClient webClient = builder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                .build();
+        return (method, path, headers, parameters, body) -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(requestHeaders -> requestHeaders.addAll(headers));
+            WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+            return spec.exchangeToMono(response -> response.toEntity(byte[].class));
+        };
+    }
+}
@@ -36,6 +36,13 @@ public class ErrorHandler {
         return new ErrorResponse("Указаны не верные данные", eMessage);
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleTooManyIdsException(final TooManyIdsException e) {
+        String eMessage = e.getMessage();
+        return new ErrorResponse("Превышен размер списка идентификаторов", eMessage);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBookingWrongStatusException(final BookingWrongStatusException e) {
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class TooManyIdsException extends RuntimeException {
+
+    public TooManyIdsException(String message) {
+        super(message);
+    }
+}
@@ -2,15 +2,20 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.LookupBatcher;
+import ru.practicum.shareit.client.LookupBatcherFactory;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,22 +25,22 @@ public class ItemClient extends BaseClient {
     private String fromSizePath;
     @Value("${item.search.path}")
     private String searchPath;
+    @Value("${ids.get.path}")
+    private String idsPath;
+    private final LookupBatcher batcher;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                      RequestCoalescer coalescer, ResponseCache responseCache, LookupBatcherFactory batcherFactory) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), coalescer, responseCache, API_PREFIX);
+        this.batcher = batcherFactory.create(server, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<byte[]>> getItem(long itemId, long userId) {
+        return lookup(batcher, itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByUserId(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getItemsByUserId(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -43,21 +48,28 @@ public class ItemClient extends BaseClient {
         return get(fromSizePath, userId, parameters);
     }
 
+    public Mono<ResponseEntity<byte[]>> getItemsByIds(List<Long> ids, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get(idsPath, userId, parameters);
+    }
+
 
-    public ResponseEntity<Object> addItem(long userId, ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addItem(long userId, ItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
 
-    public ResponseEntity<Object> updateItem(long itemId, long userId, ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> updateItem(long itemId, long userId, ItemRequestDto requestDto) {
         return patch("/" + itemId, userId, requestDto);
     }
 
-    public void deleteItem(long itemId) {
-        delete("/" + itemId);
+    public Mono<Void> deleteItem(long itemId) {
+        return delete("/" + itemId).then();
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> searchItem(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -66,7 +78,7 @@ public class ItemClient extends BaseClient {
         return get(searchPath, null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long itemId, long userId, CommentRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addComment(long itemId, long userId, CommentRequestDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 }
@@ -2,12 +2,13 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 
 import java.util.Map;
@@ -17,26 +18,24 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
     @Value("${all.requests.get.path}")
     private String getAllPath;
+    @Value("${pagination.from.size.path}")
+    private String fromSizePath;
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                         RequestCoalescer coalescer, ResponseCache responseCache) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), coalescer, responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getRequest(long requestId, long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequest(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> addRequest(long userId, RequestRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addRequest(long userId, RequestRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,7 +43,15 @@ public class RequestClient extends BaseClient {
         return get(getAllPath, userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsByUserId(long userId) {
         return get("", userId);
     }
+
+    public Mono<ResponseEntity<byte[]>> getRequestsByUserId(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get(fromSizePath, userId, parameters);
+    }
 }
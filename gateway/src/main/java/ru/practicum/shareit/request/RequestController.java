@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 
 import javax.validation.Valid;
@@ -20,34 +21,43 @@ import javax.validation.constraints.PositiveOrZero;
 public class RequestController {
     private final RequestClient requestClient;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int DEFAULT_PAGE_SIZE = 10;
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader(USER_ID_HEADER) long userId,
-                                             @PathVariable long requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequest(@RequestHeader(USER_ID_HEADER) long userId,
+                                                   @PathVariable long requestId) {
         log.info("Get request {}, userId={}", requestId, userId);
         return requestClient.getRequest(requestId, userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader(USER_ID_HEADER) long userId,
-                                             @Valid @RequestBody RequestRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addRequest(@RequestHeader(USER_ID_HEADER) long userId,
+                                                   @Valid @RequestBody RequestRequestDto requestDto) {
         log.info("Creating request {}, userId={}", requestDto, userId);
         return requestClient.addRequest(userId, requestDto);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequests(@RequestHeader(USER_ID_HEADER) long userId,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                              Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10")
-                                              Integer size) {
+    public Mono<ResponseEntity<byte[]>> getRequests(@RequestHeader(USER_ID_HEADER) long userId,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                    Integer from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                    Integer size) {
         log.info("Get requests not by userId={}, from={}, size={}", userId, from, size);
         return requestClient.getRequests(userId, from, size);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getRequestsByUserId(@RequestHeader(USER_ID_HEADER) long userId) {
-        log.info("Get requests by userId {}", userId);
-        return requestClient.getRequestsByUserId(userId);
+    public Mono<ResponseEntity<byte[]>> getRequestsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+                                                            @PositiveOrZero @RequestParam(name = "from", required = false)
+                                                            Integer from,
+                                                            @Positive @RequestParam(name = "size", required = false)
+                                                            Integer size) {
+        log.info("Get requests by userId={}, from={}, size={}", userId, from, size);
+        if (from == null && size == null) {
+            return requestClient.getRequestsByUserId(userId);
+        }
+        return requestClient.getRequestsByUserId(userId, from == null ? 0 : from,
+                size == null ? DEFAULT_PAGE_SIZE : size);
     }
 }
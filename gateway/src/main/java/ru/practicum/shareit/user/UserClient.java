@@ -2,45 +2,59 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.LookupBatcher;
+import ru.practicum.shareit.client.LookupBatcherFactory;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    @Value("${ids.get.path}")
+    private String idsPath;
+    private final LookupBatcher batcher;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                      RequestCoalescer coalescer, ResponseCache responseCache, LookupBatcherFactory batcherFactory) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), coalescer, responseCache, API_PREFIX);
+        this.batcher = batcherFactory.create(server, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<byte[]>> getUser(long userId) {
+        return lookup(batcher, userId, null);
     }
 
-    public ResponseEntity<Object> addUser(UserRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addUser(UserRequestDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> updateUser(long userId, UserRequestDto requestDto) {
         return patch("/" + userId, requestDto);
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUser(long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<byte[]>> getUsers() {
         return get("");
     }
+
+    public Mono<ResponseEntity<byte[]>> getUsersByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get(idsPath, null, parameters);
+    }
 }
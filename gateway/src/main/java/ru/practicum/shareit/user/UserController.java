@@ -6,10 +6,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.utils.Create;
+import ru.practicum.shareit.utils.IdListLimit;
 import ru.practicum.shareit.utils.Update;
 
+import javax.validation.constraints.Positive;
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -17,33 +22,41 @@ import ru.practicum.shareit.utils.Update;
 @Validated
 public class UserController {
     private final UserClient userClient;
+    private final IdListLimit idListLimit;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<byte[]>> getUsers() {
         return userClient.getUsers();
     }
 
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<byte[]>> getUsersByIds(@RequestParam List<@Positive Long> ids) {
+        log.info("Get users {}", ids);
+        idListLimit.check(ids);
+        return userClient.getUsersByIds(ids);
+    }
+
     @GetMapping("{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public Mono<ResponseEntity<byte[]>> getUserById(@PathVariable long userId) {
         log.info("Get user {}", userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Validated(Create.class) @RequestBody UserRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addUser(@Validated(Create.class) @RequestBody UserRequestDto requestDto) {
         log.info("Creating user {}", requestDto.getEmail());
         return userClient.addUser(requestDto);
     }
 
     @PatchMapping("{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId,
-                                             @Validated(Update.class) @RequestBody UserRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> updateUser(@PathVariable long userId,
+                                                   @Validated(Update.class) @RequestBody UserRequestDto requestDto) {
         log.info("Update user {}", userId);
         return userClient.updateUser(userId, requestDto);
     }
 
     @DeleteMapping("{userId}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(@PathVariable long userId) {
         log.info("Delete user {}", userId);
         return userClient.deleteUser(userId);
     }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpClientConfigTest {
+    private final HttpClientConfig config = new HttpClientConfig();
+    private HttpServer server;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_evict_idle_connections_from_pool() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setIdleEviction(Duration.ofMillis(200));
+        PoolingHttpClientConnectionManager connectionManager = config.shareItServerConnectionManager(properties);
+        try (CloseableHttpClient httpClient = config.shareItServerHttpClient(connectionManager, properties)) {
+            try (CloseableHttpResponse response = httpClient.execute(
+                    new HttpGet("http://localhost:" + server.getAddress().getPort() + "/users"))) {
+                EntityUtils.consume(response.getEntity());
+            }
+            assertEquals(1, connectionManager.getTotalStats().getAvailable());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (connectionManager.getTotalStats().getAvailable() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(0, connectionManager.getTotalStats().getAvailable());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void should_close_pool_with_client() {
+        HttpClientProperties properties = new HttpClientProperties();
+        PoolingHttpClientConnectionManager connectionManager = config.shareItServerConnectionManager(properties);
+        CloseableHttpClient httpClient = config.shareItServerHttpClient(connectionManager, properties);
+        try (CloseableHttpResponse response = httpClient.execute(
+                new HttpGet("http://localhost:" + server.getAddress().getPort() + "/users"))) {
+            EntityUtils.consume(response.getEntity());
+        }
+
+        httpClient.close();
+
+        assertEquals(0, connectionManager.getTotalStats().getAvailable());
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LookupBatcherTest {
+    private static final long USER_ID = 1L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<String> batchRequests = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> singleRequests = Collections.synchronizedList(new ArrayList<>());
+    private LookupBatchingProperties properties;
+    private Function<String, ResponseEntity<byte[]>> batchResponses;
+    private LookupBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LookupBatchingProperties();
+        properties.setRoutes(List.of("/items/*"));
+        properties.setWindow(Duration.ofMillis(200));
+        properties.setMaxSize(100);
+        batchResponses = this::found;
+        ServerExchange server = (method, path, headers, parameters, body) -> {
+            assertThat(method).isEqualTo(HttpMethod.GET);
+            assertThat(path).isEqualTo("/lookups?ids={ids}");
+            String ids = String.valueOf(parameters.get("ids"));
+            batchRequests.add(ids);
+            return Mono.fromSupplier(() -> batchResponses.apply(ids));
+        };
+        batcher = new LookupBatcher(server, properties, mapper, new SimpleMeterRegistry().summary("batch"));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_flush_batch_after_window() {
+        CompletableFuture<ResponseEntity<byte[]>> first = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> second = load(2L);
+
+        assertThat(batchRequests).isEmpty();
+        assertThat(body(first)).isEqualTo("{\"id\":1}");
+        assertThat(body(second)).isEqualTo("{\"id\":2}");
+        assertThat(first.get().getHeaders().getETag()).isEqualTo("\"item-1\"");
+        assertThat(batchRequests).containsExactly("1,2");
+        assertThat(singleRequests).isEmpty();
+    }
+
+    @Test
+    @SneakyThrows
+    void should_flush_full_batch_before_window() {
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setMaxSize(2);
+
+        CompletableFuture<ResponseEntity<byte[]>> first = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> second = load(2L);
+
+        assertThat(body(first)).isEqualTo("{\"id\":1}");
+        assertThat(body(second)).isEqualTo("{\"id\":2}");
+        assertThat(batchRequests).containsExactly("1,2");
+    }
+
+    @Test
+    @SneakyThrows
+    void should_share_one_lookup_for_duplicate_ids() {
+        CompletableFuture<ResponseEntity<byte[]>> first = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> duplicate = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> second = load(2L);
+
+        assertThat(body(second)).isEqualTo("{\"id\":2}");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(batchRequests).containsExactly("1,2");
+        assertThat(singleRequests).isEmpty();
+    }
+
+    @Test
+    @SneakyThrows
+    void should_fall_back_to_single_lookup_for_missing_ids() {
+        batchResponses = ids -> found("1");
+
+        CompletableFuture<ResponseEntity<byte[]>> first = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> second = load(2L);
+
+        assertThat(body(first)).isEqualTo("{\"id\":1}");
+        assertThat(body(second)).isEqualTo("single 2");
+        assertThat(singleRequests).containsExactly(2L);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_fall_back_to_single_lookups_on_failed_batch() {
+        batchResponses = ids -> new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        CompletableFuture<ResponseEntity<byte[]>> first = load(1L);
+        CompletableFuture<ResponseEntity<byte[]>> second = load(2L);
+
+        assertThat(body(first)).isEqualTo("single 1");
+        assertThat(body(second)).isEqualTo("single 2");
+        assertThat(singleRequests).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_send_batch_of_one_as_single_lookup() {
+        CompletableFuture<ResponseEntity<byte[]>> only = load(1L);
+
+        assertThat(body(only)).isEqualTo("single 1");
+        assertThat(batchRequests).isEmpty();
+        assertThat(singleRequests).containsExactly(1L);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_not_batch_routes_not_opted_in() {
+        RequestKey key = new RequestKey(HttpMethod.GET, "/users/1", USER_ID, null);
+
+        ResponseEntity<byte[]> response = batcher.load(key, 1L, new HttpHeaders(), () -> single(1L)).block();
+
+        assertThat(response).isNotNull();
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("single 1");
+        assertThat(batchRequests).isEmpty();
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> load(long id) {
+        RequestKey key = new RequestKey(HttpMethod.GET, "/items/" + id, USER_ID, null);
+        return batcher.load(key, id, new HttpHeaders(), () -> single(id)).toFuture();
+    }
+
+    private Mono<ResponseEntity<byte[]>> single(long id) {
+        return Mono.fromSupplier(() -> {
+            singleRequests.add(id);
+            return new ResponseEntity<>(("single " + id).getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        });
+    }
+
+    @SneakyThrows
+    private ResponseEntity<byte[]> found(String ids) {
+        List<Map<String, Object>> entries = List.of(ids.split(","))
+                .stream()
+                .map(id -> Map.<String, Object>of("id", Long.parseLong(id), "etag", "item-" + id, "value",
+                        Map.of("id", Long.parseLong(id))))
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(mapper.writeValueAsBytes(entries), HttpStatus.OK);
+    }
+
+    @SneakyThrows
+    private String body(CompletableFuture<ResponseEntity<byte[]>> response) {
+        return new String(response.get(5, TimeUnit.SECONDS).getBody(), StandardCharsets.UTF_8);
+    }
+}
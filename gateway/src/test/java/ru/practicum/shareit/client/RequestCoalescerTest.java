@@ -0,0 +1,170 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+    private static final RequestKey KEY = new RequestKey(HttpMethod.GET, "/items/1", 1L, null);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setRoutes(List.of("/items/*"));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(properties, meterRegistry);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_make_one_upstream_call_for_concurrent_identical_gets() {
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+        ResponseEntity<byte[]> response = new ResponseEntity<>(new byte[]{1}, HttpStatus.OK);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<CompletableFuture<ResponseEntity<byte[]>>>> subscriptions = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                subscriptions.add(executor.submit(() -> {
+                    ready.await();
+                    return coalescer.coalesce(KEY, () -> call(upstream.asMono())).toFuture();
+                }));
+            }
+            ready.countDown();
+            List<CompletableFuture<ResponseEntity<byte[]>>> results = new ArrayList<>();
+            for (Future<CompletableFuture<ResponseEntity<byte[]>>> subscription : subscriptions) {
+                results.add(subscription.get(5, TimeUnit.SECONDS));
+            }
+            upstream.tryEmitValue(response);
+            for (CompletableFuture<ResponseEntity<byte[]>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("shareit.gateway.coalescing.upstream", "route", "/items/*").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("shareit.gateway.coalescing.collapsed", "route", "/items/*").count())
+                .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void should_not_coalesce_other_methods() {
+        RequestKey key = new RequestKey(HttpMethod.PATCH, "/items/1", 1L, null);
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+
+        CompletableFuture<ResponseEntity<byte[]>> first = coalescer.coalesce(key, () -> call(upstream.asMono()))
+                .toFuture();
+        CompletableFuture<ResponseEntity<byte[]>> second = coalescer.coalesce(key, () -> call(upstream.asMono()))
+                .toFuture();
+        upstream.tryEmitValue(new ResponseEntity<>(HttpStatus.OK));
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.find("shareit.gateway.coalescing.collapsed").counter()).isNull();
+    }
+
+    @Test
+    void should_not_coalesce_routes_not_opted_in() {
+        RequestKey key = new RequestKey(HttpMethod.GET, "/users/1", null, null);
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+
+        coalescer.coalesce(key, () -> call(upstream.asMono())).toFuture();
+        coalescer.coalesce(key, () -> call(upstream.asMono())).toFuture();
+        upstream.tryEmitValue(new ResponseEntity<>(HttpStatus.OK));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.find("shareit.gateway.coalescing.collapsed").counter()).isNull();
+    }
+
+    @Test
+    void should_call_upstream_again_after_completion() {
+        coalescer.coalesce(KEY, () -> call(Mono.just(new ResponseEntity<>(HttpStatus.OK)))).block();
+
+        coalescer.coalesce(KEY, () -> call(Mono.just(new ResponseEntity<>(HttpStatus.OK)))).block();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(inFlight()).isEmpty();
+    }
+
+    @Test
+    void should_forget_failed_upstream_call() {
+        assertThatThrownBy(() -> coalescer.coalesce(KEY,
+                () -> call(Mono.error(new IllegalStateException("server is down")))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(inFlight()).isEmpty();
+        ResponseEntity<byte[]> response = coalescer.coalesce(KEY,
+                () -> call(Mono.just(new ResponseEntity<>(HttpStatus.OK)))).block();
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_serve_late_subscribers_from_completed_call() {
+        ResponseEntity<byte[]> response = new ResponseEntity<>(new byte[]{1}, HttpStatus.OK);
+        List<Mono<ResponseEntity<byte[]>>> pending = new ArrayList<>();
+
+        coalescer.coalesce(KEY, () -> call(Mono.just(response)))
+                .doOnNext(first -> pending.add(inFlight().get(KEY)))
+                .block();
+
+        assertThat(pending.get(0).block()).isSameAs(response);
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(inFlight()).isEmpty();
+    }
+
+    @Test
+    void should_keep_newer_call_registered_under_same_key() {
+        Mono<ResponseEntity<byte[]>> newer = Mono.never();
+
+        coalescer.coalesce(KEY, () -> call(Mono.just(new ResponseEntity<>(HttpStatus.OK))))
+                .doOnNext(response -> inFlight().put(KEY, newer))
+                .block();
+
+        assertThat(inFlight()).containsEntry(KEY, newer);
+    }
+
+    private Mono<ResponseEntity<byte[]>> call(Mono<ResponseEntity<byte[]>> response) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return response;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<RequestKey, Mono<ResponseEntity<byte[]>>> inFlight() {
+        return (Map<RequestKey, Mono<ResponseEntity<byte[]>>>) ReflectionTestUtils.getField(coalescer, "inFlight");
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+    private static final RequestKey KEY = new RequestKey(HttpMethod.GET, "/items/1", 1L, null);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(List.of("/items/*"));
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(properties, meterRegistry);
+    }
+
+    @Test
+    void should_send_if_none_match_for_cached_response() {
+        revalidate(KEY, new HttpHeaders(), ok("item", "\"v1\""));
+        HttpHeaders headers = new HttpHeaders();
+
+        revalidate(KEY, headers, ok("item", "\"v1\""));
+
+        assertThat(headers.getIfNoneMatch()).containsExactly("\"v1\"");
+    }
+
+    @Test
+    void should_serve_cached_body_on_not_modified() {
+        revalidate(KEY, new HttpHeaders(), ok("item", "\"v1\""));
+
+        ResponseEntity<byte[]> response = revalidate(KEY, new HttpHeaders(),
+                new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("item");
+        assertThat(meterRegistry.counter("shareit.gateway.cache.not.modified", "route", "/items/*").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void should_evict_entry_on_non_ok_response() {
+        revalidate(KEY, new HttpHeaders(), ok("item", "\"v1\""));
+        revalidate(KEY, new HttpHeaders(), new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        HttpHeaders headers = new HttpHeaders();
+
+        ResponseEntity<byte[]> response = revalidate(KEY, headers, new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        assertThat(headers.getIfNoneMatch()).isEmpty();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void should_not_store_response_without_etag() {
+        revalidate(KEY, new HttpHeaders(), ok("item", null));
+        HttpHeaders headers = new HttpHeaders();
+
+        revalidate(KEY, headers, ok("item", "\"v1\""));
+
+        assertThat(headers.getIfNoneMatch()).isEmpty();
+    }
+
+    @Test
+    void should_not_store_responses_of_routes_not_opted_in() {
+        RequestKey key = new RequestKey(HttpMethod.GET, "/users/1", null, null);
+        revalidate(key, new HttpHeaders(), ok("user", "\"v1\""));
+        HttpHeaders headers = new HttpHeaders();
+
+        revalidate(key, headers, ok("user", "\"v1\""));
+
+        assertThat(headers.getIfNoneMatch()).isEmpty();
+    }
+
+    private ResponseEntity<byte[]> revalidate(RequestKey key, HttpHeaders headers, ResponseEntity<byte[]> upstream) {
+        return responseCache.revalidate(key, headers, () -> Mono.just(upstream)).block();
+    }
+
+    private ResponseEntity<byte[]> ok(String body, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return new ResponseEntity<>(body.getBytes(StandardCharsets.UTF_8), headers, HttpStatus.OK);
+    }
+}
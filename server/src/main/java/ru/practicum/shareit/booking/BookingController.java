@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 
@@ -13,29 +17,45 @@ import java.util.List;
 public class BookingController {
     private final BookingService bookingService;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @GetMapping
-    public List<BookingDtoResponse> getAllBookingsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
-                                                           @RequestParam(value = "state", required = false,
-                                                                   defaultValue = "ALL") String status,
-                                                           @RequestParam(defaultValue = "0") int from,
-                                                           @RequestParam(defaultValue = "10")
-                                                               int size) {
-        return bookingService.getAllBookingsByUserId(userId, status, from, size);
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingsByUserId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(value = "state", required = false, defaultValue = "ALL") String status,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getAllBookingsByUserId(userId, status, from, size)
+                : bookingService.getBookingsByUserIdAfterCursor(userId, status, cursor, size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping(params = "ids")
+    public List<BookingDtoResponse> getBookingsByIds(@RequestParam List<Long> ids,
+                                                     @RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingService.getBookingsByIds(ids, userId);
     }
 
     @GetMapping("/{bookingId}")
-    public BookingDtoResponse getBookingById(@PathVariable long bookingId, @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingService.getBookingById(bookingId, userId);
+    public ResponseEntity<BookingDtoResponse> getBookingById(@PathVariable long bookingId,
+                                                             @RequestHeader(USER_ID_HEADER) long userId) {
+        BookingDtoResponse booking = bookingService.getBookingById(bookingId, userId);
+        return ResponseEntity.ok().eTag(booking.getEtag()).body(booking);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getAllBookingsByItemOwnerId(@RequestHeader(USER_ID_HEADER) long userId,
-                                                                @RequestParam(value = "state", required = false,
-                                                                        defaultValue = "ALL") String status,
-                                                                @RequestParam(defaultValue = "0") int from,
-                                                                @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getAllBookingsByItemOwnerId(userId, status, from, size);
+    public ResponseEntity<List<BookingDtoResponse>> getAllBookingsByItemOwnerId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(value = "state", required = false, defaultValue = "ALL") String status,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getAllBookingsByItemOwnerId(userId, status, from, size)
+                : bookingService.getBookingsByItemOwnerIdAfterCursor(userId, status, cursor, size);
+        return withNextCursor(bookings, size);
     }
 
     @PostMapping
@@ -49,4 +69,19 @@ public class BookingController {
                                            @RequestParam boolean approved) {
         return bookingService.changeBookingStatus(bookingId, userId, approved);
     }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> changeBookingStatuses(@RequestBody BookingBatchDtoRequest request,
+                                                             @RequestHeader(USER_ID_HEADER) long userId,
+                                                             @RequestParam boolean approved) {
+        return bookingService.changeBookingStatuses(userId, request.getBookingIds(), approved);
+    }
+
+    private ResponseEntity<List<BookingDtoResponse>> withNextCursor(List<BookingDtoResponse> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
+    }
 }
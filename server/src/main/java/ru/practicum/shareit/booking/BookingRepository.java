@@ -1,51 +1,23 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface  BookingRepository extends JpaRepository<Booking, Long> {
+public interface  BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByBooker_Id(long userId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(long id);
 
-    List<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfter(long userId,
-                                                               LocalDateTime start,
-                                                               LocalDateTime end, PageRequest pageRequest);
-
-    List<Booking> findByBooker_IdAndEndIsBefore(long userId, LocalDateTime end,
-                                                PageRequest pageRequest);
-
-    List<Booking> findByBooker_IdAndStartIsAfter(long userId, LocalDateTime start,
-                                                 PageRequest pageRequest);
-
-    List<Booking> findByBooker_IdAndStatus(long userId, BookingStatus status, PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_Id(long ownerId, PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
-            long ownerId,
-            LocalDateTime start,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_IdAndEndIsBefore(
-            long ownerId,
-            LocalDateTime end,
-            PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_IdAndStartIsAfter(
-            long ownerId,
-            LocalDateTime start,
-            PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_IdAndStatus(
-            long ownerId,
-            BookingStatus status,
-            PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findWithItemAndBookerByIdInOrderById(Collection<Long> ids);
 
     List<Booking> findByBooker_IdAndItem_IdAndEndIsBeforeAndStatusOrderByStart(
             long userId,
@@ -53,6 +25,33 @@ public interface  BookingRepository extends JpaRepository<Booking, Long> {
             LocalDateTime end,
             BookingStatus status);
 
-    List<Booking> findByItem_IdAndStatus(long itemId, BookingStatus status);
-
+    boolean existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(long itemId,
+                                                                 BookingStatus status,
+                                                                 LocalDateTime end,
+                                                                 LocalDateTime start);
+
+    List<Booking> findByItem_IdInAndStatusAndStartIsBeforeAndEndIsAfter(Collection<Long> itemIds,
+                                                                        BookingStatus status,
+                                                                        LocalDateTime end,
+                                                                        LocalDateTime start);
+
+    Optional<Booking> findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(long itemId,
+                                                                                 BookingStatus status,
+                                                                                 LocalDateTime start);
+
+    Optional<Booking> findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(long itemId,
+                                                                               BookingStatus status,
+                                                                               LocalDateTime start);
+
+    @Query("select b from Booking b" +
+            " where b.item.id in ?1 and b.status = ?2" +
+            " and b.start = (select max(l.start) from Booking l" +
+            " where l.item = b.item and l.status = ?2 and l.start < ?3)")
+    List<Booking> findLastBookings(List<Long> itemIds, BookingStatus status, LocalDateTime start);
+
+    @Query("select b from Booking b" +
+            " where b.item.id in ?1 and b.status = ?2" +
+            " and b.start = (select min(n.start) from Booking n" +
+            " where n.item = b.item and n.status = ?2 and n.start > ?3)")
+    List<Booking> findNextBookings(List<Long> itemIds, BookingStatus status, LocalDateTime start);
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findByRoleAndState(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                     int from, int size);
+
+    List<Booking> findByRoleAndStateAfterCursor(BookingRole role, long userId, BookingState state,
+                                                LocalDateTime now, BookingCursor cursor, int size);
+
+    int updateStatusIfVersionUnchanged(Collection<Booking> bookings, BookingStatus status);
+}
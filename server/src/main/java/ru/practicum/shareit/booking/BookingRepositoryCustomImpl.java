@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.utils.VersionGuard;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Booking> findByRoleAndState(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                            int from, int size) {
+        return createQuery(role, userId, state, now, null)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public List<Booking> findByRoleAndStateAfterCursor(BookingRole role, long userId, BookingState state,
+                                                       LocalDateTime now, BookingCursor cursor, int size) {
+        return createQuery(role, userId, state, now, cursor)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public int updateStatusIfVersionUnchanged(Collection<Booking> bookings, BookingStatus status) {
+        Query update = em.createNativeQuery("update bookings set status = ?, version = version + 1"
+                + " where (id, version) in (" + VersionGuard.pairs(bookings.size()) + ")")
+                .setParameter(1, status.name());
+        int position = 2;
+        for (Booking booking : bookings) {
+            update.setParameter(position++, booking.getId());
+            update.setParameter(position++, booking.getVersion());
+        }
+        return update.executeUpdate();
+    }
+
+    private TypedQuery<Booking> createQuery(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                            BookingCursor cursor) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        booking.fetch("item", JoinType.INNER);
+        booking.fetch("booker", JoinType.INNER);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(byRole(cb, booking, role, userId));
+        predicates.addAll(byState(cb, booking, state, now));
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursor.getStart()),
+                    cb.and(cb.equal(start, cursor.getStart()), cb.lessThan(id, cursor.getId()))));
+        }
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return em.createQuery(query);
+    }
+
+    private Predicate byRole(CriteriaBuilder cb, Root<Booking> booking, BookingRole role, long userId) {
+        if (role == BookingRole.OWNER) {
+            return cb.equal(booking.get("ownerId"), userId);
+        }
+        return cb.equal(booking.get("booker").get("id"), userId);
+    }
+
+    private List<Predicate> byState(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                    LocalDateTime now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        List<Predicate> predicates = new ArrayList<>();
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            case PAST:
+                // Implied by end < now, but only start_date is in the indexes, so this bounds the index scan
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.lessThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            default:
+                break;
+        }
+        return predicates;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 
@@ -11,10 +12,19 @@ public interface BookingService {
 
     BookingDtoResponse changeBookingStatus(long id, long userId, boolean approved);
 
+    List<BookingBatchResultDto> changeBookingStatuses(long userId, List<Long> ids, boolean approved);
+
     BookingDtoResponse getBookingById(long id, long userId);
 
+    List<BookingDtoResponse> getBookingsByIds(List<Long> ids, long userId);
+
     List<BookingDtoResponse> getAllBookingsByUserId(long userId, String status, int from, int size);
 
     List<BookingDtoResponse> getAllBookingsByItemOwnerId(long userId, String status, int from, int size);
 
+    List<BookingDtoResponse> getBookingsByUserIdAfterCursor(long userId, String status, String cursor, int size);
+
+    List<BookingDtoResponse> getBookingsByItemOwnerIdAfterCursor(long userId, String status, String cursor,
+                                                                 int size);
+
 }
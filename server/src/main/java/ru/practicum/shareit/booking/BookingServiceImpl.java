@@ -1,41 +1,54 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingValidationException;
 import ru.practicum.shareit.exception.BookingWrongStatusException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.OwnerPermissionException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.utils.CustomPageRequest;
+import ru.practicum.shareit.user.UserLookup;
+import ru.practicum.shareit.user.UserSummary;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
+    private final OptimisticLockRetryTemplate retryTemplate;
+    private final IdListLimit idListLimit;
 
     @Transactional
     @Override
     public BookingDtoResponse addBooking(long userId, BookingDtoRequest bookingDtoRequest) {
-        User user = getUserForBooking(userId);
+        UserSummary booker = getUserForBooking(userId);
         long itemId = bookingDtoRequest.getItemId();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() ->  new NotFoundException(String.format("Вещь с id %s не найдена", itemId)));
@@ -45,25 +58,31 @@ public class BookingServiceImpl implements BookingService {
         if (userId == item.getOwner().getId()) {
             throw new NotFoundException("Владелец не может забронировать свою вещь");
         }
-        Booking booking = BookingMapper.toBooking(bookingDtoRequest, user, item);
+        checkNoApprovedOverlap(itemId, bookingDtoRequest.getStart(), bookingDtoRequest.getEnd());
+        Booking booking = BookingMapper.toBooking(bookingDtoRequest, userLookup.getReference(userId), item);
         booking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking), booker);
     }
 
-    @Transactional
     @Override
     public BookingDtoResponse changeBookingStatus(long id, long userId, boolean approved) {
-        Booking booking = bookingRepository.findById(id)
+        return retryTemplate.execute("changeBookingStatus", () -> updateBookingStatus(id, userId, approved));
+    }
+
+    private BookingDtoResponse updateBookingStatus(long id, long userId, boolean approved) {
+        Booking booking = bookingRepository.findWithItemAndBookerById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Бронирование с id %s не найдено", id)));
-        User user = getUserForBooking(userId);
         if (booking.getItem().getOwner().getId() != userId) {
+            checkUserExists(userId);
             throw new OwnerPermissionException(
-                    String.format("Пользователь c id %s не является владельцем вещи", user.getId()));
+                    String.format("Пользователь c id %s не является владельцем вещи", userId));
         }
         if (booking.getStatus().equals(BookingStatus.APPROVED)) {
             throw new BookingValidationException("Бронирование уже подтверждено");
         }
         if (approved) {
+            itemRepository.forceIncrementVersion(booking.getItem());
+            checkNoApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
@@ -71,106 +90,207 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
     }
 
+    @Override
+    public List<BookingBatchResultDto> changeBookingStatuses(long userId, List<Long> ids, boolean approved) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BookingValidationException("Не указаны бронирования для изменения статуса");
+        }
+        idListLimit.check(ids);
+        return retryTemplate.execute("changeBookingStatuses", () -> updateBookingStatuses(userId, ids, approved));
+    }
+
+    private List<BookingBatchResultDto> updateBookingStatuses(long userId, List<Long> ids, boolean approved) {
+        List<Long> bookingIds = ids.stream()
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, BookingBatchResultDto> results = new HashMap<>();
+        List<Booking> candidates = new ArrayList<>();
+        boolean owner = false;
+        for (long id : bookingIds) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, new BookingBatchResultDto(id, null,
+                        String.format("Бронирование с id %s не найдено", id)));
+            } else if (booking.getOwnerId() == null || booking.getOwnerId() != userId) {
+                results.put(id, new BookingBatchResultDto(id, null,
+                        String.format("Пользователь c id %s не является владельцем вещи", userId)));
+            } else if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+                owner = true;
+                results.put(id, new BookingBatchResultDto(id, booking.getStatus(), "Бронирование уже подтверждено"));
+            } else {
+                owner = true;
+                candidates.add(booking);
+            }
+        }
+        if (!owner) {
+            checkUserExists(userId);
+        }
+        if (approved) {
+            candidates = withoutApprovedOverlaps(candidates, results);
+        }
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (!candidates.isEmpty()) {
+            if (bookingRepository.updateStatusIfVersionUnchanged(candidates, status) != candidates.size()) {
+                throw new ObjectOptimisticLockingFailureException(Booking.class, candidates.stream()
+                        .map(Booking::getId)
+                        .collect(Collectors.toList()));
+            }
+            candidates.forEach(booking -> results.put(booking.getId(),
+                    new BookingBatchResultDto(booking.getId(), status, null)));
+        }
+        return bookingIds.stream()
+                .map(results::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<Booking> withoutApprovedOverlaps(List<Booking> candidates, Map<Long, BookingBatchResultDto> results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<Long> itemIds = candidates.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        List<Item> items = itemRepository.findAllById(itemIds);
+        if (itemRepository.forceIncrementVersions(items) != items.size()) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemIds);
+        }
+        LocalDateTime start = candidates.stream()
+                .map(Booking::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = candidates.stream()
+                .map(Booking::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        Map<Long, List<Booking>> approvedByItem = bookingRepository
+                .findByItem_IdInAndStatusAndStartIsBeforeAndEndIsAfter(itemIds, BookingStatus.APPROVED, end, start)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        List<Booking> accepted = new ArrayList<>();
+        for (Booking candidate : candidates) {
+            long itemId = candidate.getItem().getId();
+            List<Booking> approved = approvedByItem.computeIfAbsent(itemId, id -> new ArrayList<>());
+            if (approved.stream().anyMatch(booking -> booking.getStart().isBefore(candidate.getEnd())
+                    && booking.getEnd().isAfter(candidate.getStart()))) {
+                results.put(candidate.getId(), new BookingBatchResultDto(candidate.getId(), candidate.getStatus(),
+                        overlapMessage(itemId, candidate.getStart(), candidate.getEnd())));
+            } else {
+                approved.add(candidate);
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
     @Override
     public BookingDtoResponse getBookingById(long id, long userId) {
-        User user = getUserForBooking(userId);
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+        Booking booking = bookingRepository.findWithItemAndBookerById(id).orElse(null);
+        if (booking == null) {
+            checkUserExists(userId);
+            throw new NotFoundException("Бронирование не найдено");
+        }
         if (!(booking.getBooker().getId() == userId || booking.getItem().getOwner().getId() == userId)) {
+            checkUserExists(userId);
             throw new NotFoundException(String.format(
-                    "Пользователь c id %s не является владельцем вещи либо автором бронирования", user.getId()));
+                    "Пользователь c id %s не является владельцем вещи либо автором бронирования", userId));
         }
         return BookingMapper.toBookingDtoResponse(booking);
     }
 
     @Override
-    public List<BookingDtoResponse> getAllBookingsByUserId(long userId, String state, int from, int size) {
-        getUserForBooking(userId);
-        List<Booking> bookings;
-        BookingState bookingState;
-        try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
-        } catch (RuntimeException e) {
-            throw new BookingWrongStatusException(String.format("Unknown state: %s", state));
-        }
-        PageRequest pageRequest = new CustomPageRequest(from, size, Sort.by(Sort.Direction.DESC, "start"));
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findByBooker_Id(userId, pageRequest);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBooker_IdAndEndIsBefore(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBooker_IdAndStartIsAfter(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBooker_IdAndStatus(userId,
-                        BookingStatus.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBooker_IdAndStatus(userId,
-                        BookingStatus.REJECTED, pageRequest);
-                break;
-            default:
-                bookings = bookingRepository.findByBooker_Id(userId, pageRequest);
+    public List<BookingDtoResponse> getBookingsByIds(List<Long> ids, long userId) {
+        idListLimit.check(ids);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        return bookings.stream()
+        List<BookingDtoResponse> bookings = bookingRepository.findWithItemAndBookerByIdInOrderById(ids)
+                .stream()
+                .filter(booking -> booking.getBooker().getId() == userId
+                        || booking.getItem().getOwner().getId() == userId)
                 .map(BookingMapper::toBookingDtoResponse)
                 .collect(Collectors.toList());
+        if (bookings.size() < new HashSet<>(ids).size()) {
+            checkUserExists(userId);
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<BookingDtoResponse> getAllBookingsByUserId(long userId, String state, int from, int size) {
+        List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER, userId, parseState(state),
+                LocalDateTime.now(), from, size);
+        return toBookingDtoResponses(userId, bookings);
     }
 
     @Override
     public List<BookingDtoResponse> getAllBookingsByItemOwnerId(long ownerId, String state, int from, int size) {
-        getUserForBooking(ownerId);
-        List<Booking> bookings;
-        BookingState bookingState;
+        List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER, ownerId, parseState(state),
+                LocalDateTime.now(), from, size);
+        return toBookingDtoResponses(ownerId, bookings);
+    }
+
+    @Override
+    public List<BookingDtoResponse> getBookingsByUserIdAfterCursor(long userId, String state, String cursor,
+                                                                   int size) {
+        List<Booking> bookings = bookingRepository.findByRoleAndStateAfterCursor(BookingRole.BOOKER, userId,
+                parseState(state), LocalDateTime.now(), decodeCursor(cursor), size);
+        return toBookingDtoResponses(userId, bookings);
+    }
+
+    @Override
+    public List<BookingDtoResponse> getBookingsByItemOwnerIdAfterCursor(long ownerId, String state, String cursor,
+                                                                        int size) {
+        List<Booking> bookings = bookingRepository.findByRoleAndStateAfterCursor(BookingRole.OWNER, ownerId,
+                parseState(state), LocalDateTime.now(), decodeCursor(cursor), size);
+        return toBookingDtoResponses(ownerId, bookings);
+    }
+
+    private List<BookingDtoResponse> toBookingDtoResponses(long userId, List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            checkUserExists(userId);
+        }
+        return bookings.stream()
+                .map(BookingMapper::toBookingDtoResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void checkNoApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(itemId, BookingStatus.APPROVED,
+                end, start)) {
+            throw new BookingConflictException(overlapMessage(itemId, start, end));
+        }
+    }
+
+    private String overlapMessage(long itemId, LocalDateTime start, LocalDateTime end) {
+        return String.format("Вещь с id %s уже забронирована с %s по %s", itemId, start, end);
+    }
+
+    private BookingState parseState(String state) {
         try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
+            return BookingState.valueOf(state.toUpperCase());
         } catch (RuntimeException e) {
             throw new BookingWrongStatusException(String.format("Unknown state: %s", state));
         }
-        PageRequest pageRequest = new CustomPageRequest(from, size, Sort.by(Sort.Direction.DESC, "start"));
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findByItem_Owner_Id(ownerId, pageRequest);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(ownerId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItem_Owner_IdAndEndIsBefore(ownerId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartIsAfter(ownerId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatus(ownerId,
-                        BookingStatus.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatus(ownerId,
-                        BookingStatus.REJECTED, pageRequest);
-                break;
-            default:
-                bookings = bookingRepository.findByItem_Owner_Id(ownerId, pageRequest);
+    }
+
+    private BookingCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
         }
-        return bookings.stream()
-                .map(BookingMapper::toBookingDtoResponse)
-                .collect(Collectors.toList());
+        return BookingCursor.decode(cursor);
     }
 
-    private User getUserForBooking(long id) {
-        return userRepository.findById(id)
+    private UserSummary getUserForBooking(long id) {
+        return userLookup.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id %s не найден", id)));
     }
+
+    private void checkUserExists(long id) {
+        if (!userLookup.existsById(id)) {
+            throw new NotFoundException(String.format("Пользователь c id %s не найден", id));
+        }
+    }
 }
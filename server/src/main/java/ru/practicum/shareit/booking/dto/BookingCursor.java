@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.BookingValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+@Getter
+public class BookingCursor {
+    private static final String SEPARATOR = ";";
+
+    private final LocalDateTime start;
+    private final long id;
+
+    public BookingCursor(LocalDateTime start, long id) {
+        this.start = start.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BookingValidationException(String.format("Некорректный курсор: %s", cursor));
+        }
+    }
+
+    public static BookingCursor of(BookingDtoResponse booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Setter;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.utils.EntityTaggedDto;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class BookingDtoResponse {
+public class BookingDtoResponse extends EntityTaggedDto {
     private long id;
     private LocalDateTime start;
     private LocalDateTime end;
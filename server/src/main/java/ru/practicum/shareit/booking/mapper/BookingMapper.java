@@ -6,8 +6,11 @@ import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserSummary;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.EntityTags;
 
 public class BookingMapper {
 
@@ -17,17 +20,29 @@ public class BookingMapper {
         booking.setEnd(bookingDtoRequest.getEnd());
         booking.setItem(item);
         booking.setBooker(user);
+        booking.setOwnerId(item.getOwner().getId());
         return booking;
     }
 
     public static BookingDtoResponse toBookingDtoResponse(Booking booking) {
+        User booker = booking.getBooker();
+        return toBookingDtoResponse(booking, UserMapper.toUserDto(booker), booker.getVersion());
+    }
+
+    public static BookingDtoResponse toBookingDtoResponse(Booking booking, UserSummary booker) {
+        return toBookingDtoResponse(booking, UserMapper.toUserDto(booker), booker.getVersion());
+    }
+
+    private static BookingDtoResponse toBookingDtoResponse(Booking booking, UserDto booker, long bookerVersion) {
         BookingDtoResponse bookingDtoResponse = new BookingDtoResponse();
         bookingDtoResponse.setId(booking.getId());
         bookingDtoResponse.setStart(booking.getStart());
         bookingDtoResponse.setEnd(booking.getEnd());
         bookingDtoResponse.setStatus(booking.getStatus());
         bookingDtoResponse.setItem(ItemMapper.toItemDto(booking.getItem()));
-        bookingDtoResponse.setBooker(UserMapper.toUserDto(booking.getBooker()));
+        bookingDtoResponse.setBooker(booker);
+        bookingDtoResponse.setEtag(EntityTags.of("booking", booking.getId(), booking.getVersion(),
+                booking.getItem().getVersion(), bookerVersion));
         return bookingDtoResponse;
     }
 
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Same class as in the gateway module: the two services share no code module, so each keeps
+// its own copy, as with the exception and validation classes. Change both together.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.threads.mode", havingValue = "virtual")
+public class VirtualThreadsTomcatCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+        if (executor != null) {
+            protocolHandler.setExecutor(executor);
+            log.info("Request handling runs on virtual threads");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not supported by Java {}, falling back to platform threads",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+}
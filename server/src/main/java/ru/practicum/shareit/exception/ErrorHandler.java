@@ -1,12 +1,19 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
+
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final String EXCLUSION_VIOLATION = "23P01";
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
@@ -15,6 +22,34 @@ public class ErrorHandler {
         return new ErrorResponse("Пользователь с указанным email уже существует", eMessage);
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflictException(final BookingConflictException e) {
+        String eMessage = e.getMessage();
+        return new ErrorResponse("Вещь уже забронирована на указанные даты", eMessage);
+    }
+
+    /**
+     * The approved-overlap exclusion is deferred, so a race that slips past the service check fails at commit,
+     * where it arrives wrapped in a {@link JpaSystemException} rather than a {@link DataIntegrityViolationException}.
+     */
+    @ExceptionHandler({DataIntegrityViolationException.class, JpaSystemException.class})
+    public ResponseEntity<ErrorResponse> handleApprovedOverlapViolation(final NestedRuntimeException e) {
+        Throwable cause = e.getMostSpecificCause();
+        if (!(cause instanceof SQLException) || !EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(
+                "Вещь уже забронирована на указанные даты", "Пересекающееся бронирование вещи уже подтверждено"));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdateException(final ConcurrentUpdateException e) {
+        String eMessage = e.getMessage();
+        return new ErrorResponse("Конфликт параллельного изменения", eMessage);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFoundException(final NotFoundException e) {
@@ -36,6 +71,13 @@ public class ErrorHandler {
         return new ErrorResponse("Указаны не верные данные", eMessage);
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleTooManyIdsException(final TooManyIdsException e) {
+        String eMessage = e.getMessage();
+        return new ErrorResponse("Превышен размер списка идентификаторов", eMessage);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBookingWrongStatusException(final BookingWrongStatusException e) {
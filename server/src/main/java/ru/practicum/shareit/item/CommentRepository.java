@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -8,4 +9,7 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByItem_IdOrderByCreatedDesc(long itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItem_IdInOrderByCreatedDesc(List<Long> itemIds);
 }
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.utils.BatchEntryDto;
 import ru.practicum.shareit.utils.Create;
 import ru.practicum.shareit.utils.Update;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/items")
@@ -17,8 +20,25 @@ public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @GetMapping("{id}")
-    public ItemDtoWithBooking getItemById(@PathVariable long id, @RequestHeader(USER_ID_HEADER) long userId) {
-        return itemService.getItemById(id, userId);
+    public ResponseEntity<ItemDtoWithBooking> getItemById(@PathVariable long id,
+                                                          @RequestHeader(USER_ID_HEADER) long userId) {
+        ItemDtoWithBooking item = itemService.getItemById(id, userId);
+        return ResponseEntity.ok().eTag(item.getEtag()).body(item);
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemDtoWithBooking> getItemsByIds(@RequestParam List<Long> ids,
+                                                  @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemService.getItemsByIds(ids, userId);
+    }
+
+    @GetMapping(path = "/lookups", params = "ids")
+    public List<BatchEntryDto<ItemDtoWithBooking>> lookUpItemsByIds(@RequestParam List<Long> ids,
+                                                                    @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemService.getItemsByIds(ids, userId)
+                .stream()
+                .map(item -> new BatchEntryDto<>(item.getId(), item.getEtag(), item))
+                .collect(Collectors.toList());
     }
 
     @GetMapping
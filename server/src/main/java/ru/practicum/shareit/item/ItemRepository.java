@@ -5,17 +5,28 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
     List<Item> findByOwner_IdOrderById(long ownerId, PageRequest pageRequest);
 
+    List<Item> findByIdGreaterThanOrderById(long id, PageRequest pageRequest);
+
+    List<Item> findByIdInOrderById(Collection<Long> ids);
+
     @Query("select i from Item i" +
-            " where upper(i.name) like upper(concat('%', ?1, '%'))" +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))" +
-            " and i.available = true")
+            " where (upper(i.name) like upper(concat('%', ?1, '%'))" +
+            " or upper(i.description) like upper(concat('%', ?1, '%')))" +
+            " and i.available = true" +
+            " order by case" +
+            " when upper(i.name) = upper(?1) then 0" +
+            " when upper(i.name) like upper(concat('%', ?1, '%')) then 1" +
+            " else 2 end, i.id")
     List<Item> search(String text, PageRequest pageRequest);
 
     List<Item> findByRequest_IdOrderById(long requestId);
+
+    List<Item> findByRequest_IdInOrderById(List<Long> requestIds);
 }
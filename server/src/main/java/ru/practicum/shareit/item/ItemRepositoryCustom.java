@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+    void forceIncrementVersion(Item item);
+
+    int forceIncrementVersions(Collection<Item> items);
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utils.VersionGuard;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.Collection;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void forceIncrementVersion(Item item) {
+        em.lock(item, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Override
+    public int forceIncrementVersions(Collection<Item> items) {
+        Query update = em.createNativeQuery("update items set version = version + 1"
+                + " where (id, version) in (" + VersionGuard.pairs(items.size()) + ")");
+        int position = 1;
+        for (Item item : items) {
+            update.setParameter(position++, item.getId());
+            update.setParameter(position++, item.getVersion());
+        }
+        return update.executeUpdate();
+    }
+}
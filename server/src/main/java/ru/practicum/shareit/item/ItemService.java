@@ -12,6 +12,8 @@ public interface ItemService {
 
     ItemDtoWithBooking getItemById(long id, long userId);
 
+    List<ItemDtoWithBooking> getItemsByIds(List<Long> ids, long userId);
+
     List<ItemDtoWithBooking> getAllItemsByUserId(long userId, int from, int size);
 
     void deleteItemById(long id);
@@ -17,47 +17,59 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.UserLookup;
+import ru.practicum.shareit.user.UserSummary;
 import ru.practicum.shareit.utils.CustomPageRequest;
+import ru.practicum.shareit.utils.EntityTags;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final OptimisticLockRetryTemplate retryTemplate;
+    private final IdListLimit idListLimit;
 
     @Transactional
     @Override
     public ItemDto addItem(ItemDtoRequest itemDto, long userId) {
-        User owner = getUserForItem(userId);
+        getUserForItem(userId);
         Item item = ItemMapper.toItemFromRequestItem(itemDto);
-        item.setOwner(owner);
+        item.setOwner(userLookup.getReference(userId));
         if (itemDto.getRequestId() != null) {
             ItemRequest request = itemRequestRepository.findById(itemDto.getRequestId())
                     .orElseThrow(() -> new NotFoundException(String.format(
                             "Запрос с id %s не найден", itemDto.getRequestId())));
             item.setRequest(request);
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        return ItemMapper.toItemDto(item);
     }
 
-    @Transactional
     @Override
     public ItemDto updateItem(ItemDto itemDto, long id, long userId) {
-        User user = getUserForItem(userId);
+        return retryTemplate.execute("updateItem", () -> applyItemUpdate(itemDto, id, userId));
+    }
+
+    private ItemDto applyItemUpdate(ItemDto itemDto, long id, long userId) {
+        UserSummary user = getUserForItem(userId);
         Item item = itemRepository.findById(id)
                 .orElseThrow(() ->  new NotFoundException(String.format("Вещь с id %s не найдена", id)));
         String name = itemDto.getName();
@@ -77,7 +89,9 @@ public class ItemServiceImpl implements ItemService {
                 item.setAvailable(available);
             }
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
@@ -86,50 +100,84 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() ->  new NotFoundException(String.format("Вещь с id %s не найдена", id)));
         Booking lastBooking = null;
         Booking nextBooking = null;
-        LocalDateTime currentTime = LocalDateTime.now();
         if (item.getOwner().getId() == userId) {
-            List<Booking> bookings = bookingRepository.findByItem_IdAndStatus(id, BookingStatus.APPROVED);
-            lastBooking = findLastBooking(bookings, currentTime);
-            nextBooking = findNextBooking(bookings, currentTime);
+            LocalDateTime currentTime = LocalDateTime.now();
+            lastBooking = bookingRepository.findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(
+                    id, BookingStatus.APPROVED, currentTime).orElse(null);
+            nextBooking = bookingRepository.findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(
+                    id, BookingStatus.APPROVED, currentTime).orElse(null);
         }
-        List<CommentResponseDto> comments = findComments(id);
-        ItemDtoWithBooking itemDtoWithBooking = ItemMapper.itemDtoWithBooking(item, comments);
-        if (lastBooking != null) {
-            itemDtoWithBooking.setLastBooking(BookingMapper.toBookingDtoItem(lastBooking));
+        List<Comment> comments = commentRepository.findByItem_IdOrderByCreatedDesc(id);
+        return toTaggedItemDtoWithBooking(item, lastBooking, nextBooking, comments);
+    }
+
+    @Override
+    public List<ItemDtoWithBooking> getItemsByIds(List<Long> ids, long userId) {
+        idListLimit.check(ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
         }
-        if (nextBooking != null) {
-            itemDtoWithBooking.setNextBooking(BookingMapper.toBookingDtoItem(nextBooking));
+        List<Item> items = itemRepository.findByIdInOrderById(ids);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
         }
-        return itemDtoWithBooking;
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId() == userId)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() : mapByItemId(
+                bookingRepository.findLastBookings(ownedItemIds, BookingStatus.APPROVED, currentTime));
+        Map<Long, Booking> nextBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() : mapByItemId(
+                bookingRepository.findNextBookings(ownedItemIds, BookingStatus.APPROVED, currentTime));
+        Map<Long, List<Comment>> comments = commentRepository.findByItem_IdInOrderByCreatedDesc(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
+                .map(item -> toTaggedItemDtoWithBooking(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ItemDtoWithBooking> getAllItemsByUserId(long userId, int from, int size) {
-        getUserForItem(userId);
-        List<ItemDtoWithBooking> items = new ArrayList<>();
-        LocalDateTime currentTime = LocalDateTime.now();
         PageRequest pageRequest = new CustomPageRequest(from, size, Sort.unsorted());
-        for (Item item : itemRepository.findByOwner_IdOrderById(userId, pageRequest)) {
-            List<Booking> bookings = bookingRepository.findByItem_IdAndStatus(item.getId(), BookingStatus.APPROVED);
-            Booking lastBooking = findLastBooking(bookings, currentTime);
-            Booking nextBooking = findNextBooking(bookings, currentTime);
-            List<CommentResponseDto> comments = findComments(item.getId());
-            ItemDtoWithBooking itemDtoWithBooking = ItemMapper.itemDtoWithBooking(item, comments);
-            if (lastBooking != null) {
-                itemDtoWithBooking.setLastBooking(BookingMapper.toBookingDtoItem(lastBooking));
-            }
-            if (nextBooking != null) {
-                itemDtoWithBooking.setNextBooking(BookingMapper.toBookingDtoItem(nextBooking));
-            }
-            items.add(itemDtoWithBooking);
+        List<Item> items = itemRepository.findByOwner_IdOrderById(userId, pageRequest);
+        if (items.isEmpty()) {
+            checkUserExists(userId);
+            return Collections.emptyList();
         }
-        return items;
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = mapByItemId(
+                bookingRepository.findLastBookings(itemIds, BookingStatus.APPROVED, currentTime));
+        Map<Long, Booking> nextBookings = mapByItemId(
+                bookingRepository.findNextBookings(itemIds, BookingStatus.APPROVED, currentTime));
+        Map<Long, List<CommentResponseDto>> comments = commentRepository
+                .findByItem_IdInOrderByCreatedDesc(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentResponseDto, Collectors.toList())));
+        return items.stream()
+                .map(item -> toItemDtoWithBooking(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
     @Transactional
     @Override
     public void deleteItemById(long id) {
         itemRepository.deleteById(id);
+        itemSearchEngine.remove(id);
     }
 
     @Override
@@ -137,12 +185,7 @@ public class ItemServiceImpl implements ItemService {
         if (text.isEmpty()) {
             return Collections.emptyList();
         }
-        PageRequest pageRequest = new CustomPageRequest(from, size, Sort.unsorted());
-        List<Item> searchedItems = itemRepository.search(text, pageRequest);
-        return searchedItems
-                .stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return itemSearchEngine.search(text, from, size);
     }
 
     @Transactional
@@ -150,64 +193,58 @@ public class ItemServiceImpl implements ItemService {
     public CommentResponseDto addComment(long itemId, CommentRequestDto commentRequestDto, long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() ->  new NotFoundException(String.format("Вещь с id %s не найдена", itemId)));
-        User user = getUserForItem(userId);
+        UserSummary user = getUserForItem(userId);
         List<Booking> userBookings = bookingRepository.findByBooker_IdAndItem_IdAndEndIsBeforeAndStatusOrderByStart(
                 userId, itemId, LocalDateTime.now(), BookingStatus.APPROVED);
         if (userBookings.isEmpty()) {
             throw new BookingValidationException(
                     String.format("Пользователь с id %s не бронировал вещь %s", userId, item.getName()));
         }
-        Comment comment = CommentMapper.toComment(commentRequestDto, item, user);
+        Comment comment = CommentMapper.toComment(commentRequestDto, item, userLookup.getReference(userId));
         comment = commentRepository.save(comment);
-        return CommentMapper.toCommentResponseDto(comment);
+        return CommentMapper.toCommentResponseDto(comment, user);
     }
 
-    private User getUserForItem(long id) {
-        return userRepository.findById(id)
+    private UserSummary getUserForItem(long id) {
+        return userLookup.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id %s не найден", id)));
     }
 
-    private Booking findLastBooking(List<Booking> bookings, LocalDateTime currentTime) {
-        return bookings.stream()
-                .sorted(orderByStartDesc)
-                .filter(x -> x.getStart().isBefore(currentTime))
-                .findFirst()
-                .orElse(null);
+    private void checkUserExists(long id) {
+        if (!userLookup.existsById(id)) {
+            throw new NotFoundException(String.format("Пользователь c id %s не найден", id));
+        }
     }
 
-    private Booking findNextBooking(List<Booking> bookings, LocalDateTime currentTime) {
-        return bookings.stream()
-                .sorted(orderByStartAsc)
-                .filter(x -> x.getStart().isAfter(currentTime))
-                .findFirst()
-                .orElse(null);
+    private ItemDtoWithBooking toItemDtoWithBooking(Item item, Booking lastBooking, Booking nextBooking,
+                                                    List<CommentResponseDto> comments) {
+        ItemDtoWithBooking itemDtoWithBooking = ItemMapper.itemDtoWithBooking(item, comments);
+        if (lastBooking != null) {
+            itemDtoWithBooking.setLastBooking(BookingMapper.toBookingDtoItem(lastBooking));
+        }
+        if (nextBooking != null) {
+            itemDtoWithBooking.setNextBooking(BookingMapper.toBookingDtoItem(nextBooking));
+        }
+        return itemDtoWithBooking;
     }
 
-    private List<CommentResponseDto> findComments(long id) {
-        return commentRepository.findByItem_IdOrderByCreatedDesc(id)
-                .stream()
+    private ItemDtoWithBooking toTaggedItemDtoWithBooking(Item item, Booking lastBooking, Booking nextBooking,
+                                                          List<Comment> comments) {
+        ItemDtoWithBooking itemDto = toItemDtoWithBooking(item, lastBooking, nextBooking, comments.stream()
                 .map(CommentMapper::toCommentResponseDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        itemDto.setEtag(EntityTags.of("item", item.getId(), item.getVersion(),
+                lastBooking != null ? lastBooking.getId() : 0,
+                nextBooking != null ? nextBooking.getId() : 0,
+                comments.size(),
+                comments.stream().mapToLong(Comment::getId).max().orElse(0),
+                comments.stream().mapToLong(comment -> comment.getAuthor().getVersion()).sum()));
+        return itemDto;
     }
 
-    private static final Comparator<Booking> orderByStartDesc = (x, y) -> {
-        if (x.getStart().isAfter((y.getStart()))) {
-            return  -1;
-        } else if (x.getStart().isBefore(y.getStart())) {
-            return 1;
-        } else {
-            return 0;
-        }
-    };
-
-    private static final Comparator<Booking> orderByStartAsc = (x, y) -> {
-        if (x.getStart().isAfter((y.getStart()))) {
-            return  1;
-        } else if (x.getStart().isBefore(y.getStart())) {
-            return -1;
-        } else {
-            return 0;
-        }
-    };
-
+    private Map<Long, Booking> mapByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
 }
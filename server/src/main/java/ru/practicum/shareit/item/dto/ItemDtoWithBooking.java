@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
+import ru.practicum.shareit.utils.EntityTaggedDto;
 
 import java.util.List;
 
@@ -12,7 +13,7 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class ItemDtoWithBooking {
+public class ItemDtoWithBooking extends EntityTaggedDto {
     private long id;
     private String name;
     private String description;
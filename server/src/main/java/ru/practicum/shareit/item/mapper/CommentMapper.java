@@ -4,6 +4,7 @@ import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserSummary;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -20,10 +21,18 @@ public class CommentMapper {
     }
 
     public static CommentResponseDto toCommentResponseDto(Comment comment) {
+        return toCommentResponseDto(comment, comment.getAuthor().getName());
+    }
+
+    public static CommentResponseDto toCommentResponseDto(Comment comment, UserSummary author) {
+        return toCommentResponseDto(comment, author.getName());
+    }
+
+    private static CommentResponseDto toCommentResponseDto(Comment comment, String authorName) {
         CommentResponseDto commentResponseDto = new CommentResponseDto();
         commentResponseDto.setId(comment.getId());
         commentResponseDto.setText(comment.getText());
-        commentResponseDto.setAuthorName(comment.getAuthor().getName());
+        commentResponseDto.setAuthorName(authorName);
         commentResponseDto.setCreated(comment.getCreated());
         return commentResponseDto;
     }
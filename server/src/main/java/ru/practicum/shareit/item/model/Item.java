@@ -28,6 +28,8 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+    @Version
+    private long version;
 
     public Item(long id, String name, String description, Boolean available) {
         this.id = id;
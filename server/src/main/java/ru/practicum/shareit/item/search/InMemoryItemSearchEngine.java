@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @PostConstruct
+    public void rebuild() {
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Item item : batch) {
+                index.put(ItemMapper.toItemDto(item), item.getVersion());
+                lastId = item.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Item search index rebuilt, {} available items indexed", index.size());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int from, int size) {
+        if (!ItemSearchIndex.isSearchable(text)) {
+            return DatabaseItemSearchEngine.search(itemRepository, text, from, size);
+        }
+        return index.search(text, from, size);
+    }
+
+    @Override
+    public void index(Item item) {
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        afterCommit(() -> index.put(itemDto, item.getVersion()));
+    }
+
+    @Override
+    public void remove(long itemId) {
+        afterCommit(() -> index.remove(itemId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
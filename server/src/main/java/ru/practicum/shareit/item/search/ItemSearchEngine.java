@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<ItemDto> search(String text, int from, int size);
+
+    void index(Item item);
+
+    void remove(long itemId);
+}
@@ -0,0 +1,225 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final char FIELD_SEPARATOR = '\0';
+    private static final int NAME_EQUALS = 0;
+    private static final int NAME_CONTAINS = 1;
+    private static final int DESCRIPTION_CONTAINS = 2;
+
+    private final LongObjectMap<LongPostingList> postings = new LongObjectMap<>();
+    private final LongObjectMap<Document> documents = new LongObjectMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int searchableCount;
+
+    void put(ItemDto item, long version) {
+        Document document = Boolean.TRUE.equals(item.getAvailable())
+                ? Document.searchable(item, version)
+                : Document.tombstone(version);
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(item.getId());
+            if (current != null && current.version > version) {
+                return;
+            }
+            replaceDocument(item.getId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            replaceDocument(itemId, Document.tombstone(Long.MAX_VALUE));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Only queries of at least one trigram can be answered from the postings; shorter ones would have to scan
+     * every document under the read lock.
+     */
+    static boolean isSearchable(String text) {
+        return normalize(text).length() >= GRAM_LENGTH;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return searchableCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<ItemDto> search(String text, int from, int size) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            LongPostingList[] ranked = {new LongPostingList(), new LongPostingList(), new LongPostingList()};
+            for (long id : findCandidates(query)) {
+                addRanked(ranked, documents.get(id), query);
+            }
+            List<ItemDto> page = new ArrayList<>(size);
+            int skipped = 0;
+            for (LongPostingList list : ranked) {
+                for (long id : list.toArray()) {
+                    if (page.size() == size) {
+                        return page;
+                    }
+                    if (skipped++ >= from) {
+                        page.add(documents.get(id).item);
+                    }
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addRanked(LongPostingList[] ranked, Document document, String query) {
+        if (document.item == null) {
+            return;
+        }
+        int rank = document.rank(query);
+        if (rank >= 0) {
+            ranked[rank].add(document.item.getId());
+        }
+    }
+
+    private long[] findCandidates(String query) {
+        long[] grams = grams(query);
+        if (grams.length == 0) {
+            return new long[0];
+        }
+        List<LongPostingList> lists = new ArrayList<>();
+        for (long gram : grams) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] ids = lists.get(0).toArray();
+        int count = ids.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            LongPostingList list = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < count; j++) {
+                if (list.contains(ids[j])) {
+                    ids[kept++] = ids[j];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void replaceDocument(long itemId, Document document) {
+        Document previous = documents.put(itemId, document);
+        if (previous != null && previous.item != null) {
+            searchableCount--;
+            for (long gram : previous.grams()) {
+                LongPostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(itemId);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+        if (document.item != null) {
+            searchableCount++;
+            for (long gram : document.grams()) {
+                LongPostingList list = postings.get(gram);
+                if (list == null) {
+                    list = new LongPostingList();
+                    postings.put(gram, list);
+                }
+                list.add(itemId);
+            }
+        }
+    }
+
+    private static long[] grams(String text) {
+        long[] grams = new long[Math.max(0, text.length() - GRAM_LENGTH + 1)];
+        int count = 0;
+        for (int i = 0; i < grams.length; i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            char third = text.charAt(i + 2);
+            if (first != FIELD_SEPARATOR && second != FIELD_SEPARATOR && third != FIELD_SEPARATOR) {
+                grams[count++] = ((long) first << 32) | ((long) second << 16) | third;
+            }
+        }
+        if (count == 0) {
+            return new long[0];
+        }
+        Arrays.sort(grams, 0, count);
+        int unique = 1;
+        for (int i = 1; i < count; i++) {
+            if (grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Document {
+        private final ItemDto item;
+        private final String text;
+        private final int nameLength;
+        private final long version;
+
+        private Document(ItemDto item, String text, int nameLength, long version) {
+            this.item = item;
+            this.text = text;
+            this.nameLength = nameLength;
+            this.version = version;
+        }
+
+        private static Document searchable(ItemDto item, long version) {
+            String name = normalize(item.getName());
+            return new Document(item, name + FIELD_SEPARATOR + normalize(item.getDescription()),
+                    name.length(), version);
+        }
+
+        private static Document tombstone(long version) {
+            return new Document(null, null, 0, version);
+        }
+
+        private long[] grams() {
+            return ItemSearchIndex.grams(text);
+        }
+
+        private int rank(String query) {
+            int position = text.indexOf(query);
+            if (position < 0) {
+                return -1;
+            }
+            if (position + query.length() <= nameLength) {
+                return query.length() == nameLength ? NAME_EQUALS : NAME_CONTAINS;
+            }
+            return DESCRIPTION_CONTAINS;
+        }
+    }
+}
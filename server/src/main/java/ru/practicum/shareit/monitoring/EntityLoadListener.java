@@ -0,0 +1,36 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+public class EntityLoadListener implements PostLoadEventListener, LoadEventListener,
+        InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null && loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            statistics.lazyInitialized();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null) {
+            statistics.lazyInitialized();
+        }
+    }
+}
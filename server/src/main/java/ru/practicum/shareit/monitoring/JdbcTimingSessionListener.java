@@ -0,0 +1,44 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.BaseSessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class JdbcTimingSessionListener extends BaseSessionEventListener {
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionEnd();
+    }
+
+    private void executionEnd() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - executionStart;
+        statistics.statementExecuted(elapsed);
+        if (elapsed >= statistics.getSlowQueryThresholdNanos()) {
+            log.warn("Slow query took {} ms in {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    statistics.getHandler(), statistics.getLastSql());
+        }
+    }
+}
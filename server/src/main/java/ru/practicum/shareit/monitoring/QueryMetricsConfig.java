@@ -0,0 +1,43 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class QueryMetricsConfig implements WebMvcConfigurer {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    public QueryMetricsConfig(ObjectProvider<MeterRegistry> meterRegistry,
+                              @Value("${shareit.monitoring.slow-query-threshold}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMetricsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCapturingStatementInspector());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new QueryMetricsIntegrator()));
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(registryBean ->
+                registry.addInterceptor(new QueryMetricsInterceptor(registryBean, slowQueryThreshold)));
+    }
+}
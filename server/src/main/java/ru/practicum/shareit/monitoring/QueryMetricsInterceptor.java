@@ -0,0 +1,55 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class QueryMetricsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestQueryStatistics.start(handlerName((HandlerMethod) handler), slowQueryThreshold.toNanos());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        RequestQueryStatistics.finish();
+        String handlerName = statistics.getHandler();
+        summary("shareit.request.statements", handlerName).record(statistics.getStatements());
+        summary("shareit.request.entities.loaded", handlerName).record(statistics.getEntitiesLoaded());
+        summary("shareit.request.lazy.initializations", handlerName).record(statistics.getLazyInitializations());
+        Timer.builder("shareit.request.jdbc.time")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary summary(String name, String handlerName) {
+        return DistributionSummary.builder(name)
+                .tag("handler", handlerName)
+                .register(meterRegistry);
+    }
+
+    private static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
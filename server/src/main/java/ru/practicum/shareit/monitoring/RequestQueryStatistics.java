@@ -0,0 +1,52 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+@Getter
+public class RequestQueryStatistics {
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private final long slowQueryThresholdNanos;
+    private long statements;
+    private long jdbcNanos;
+    private long entitiesLoaded;
+    private long lazyInitializations;
+    private String lastSql;
+
+    private RequestQueryStatistics(String handler, long slowQueryThresholdNanos) {
+        this.handler = handler;
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+    }
+
+    public static RequestQueryStatistics start(String handler, long slowQueryThresholdNanos) {
+        RequestQueryStatistics statistics = new RequestQueryStatistics(handler, slowQueryThresholdNanos);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void finish() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void lazyInitialized() {
+        lazyInitializations++;
+    }
+
+    void setLastSql(String lastSql) {
+        this.lastSql = lastSql;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlCapturingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null) {
+            statistics.setLastSql(sql);
+        }
+        return sql;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -16,10 +17,13 @@ public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int DEFAULT_PAGE_SIZE = 10;
 
     @GetMapping("{id}")
-    public ItemRequestResponseDto getRequestById(@PathVariable long id, @RequestHeader(USER_ID_HEADER) long userId) {
-        return itemRequestService.getItemRequestById(id, userId);
+    public ResponseEntity<ItemRequestResponseDto> getRequestById(@PathVariable long id,
+                                                                 @RequestHeader(USER_ID_HEADER) long userId) {
+        ItemRequestResponseDto request = itemRequestService.getItemRequestById(id, userId);
+        return ResponseEntity.ok().eTag(request.getEtag()).body(request);
     }
 
     @GetMapping("/all")
@@ -30,8 +34,14 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestResponseDto> getAllRequestsByUserId(@RequestHeader(USER_ID_HEADER) long userId) {
-        return itemRequestService.getAllRequestsByUserId(userId);
+    public List<ItemRequestResponseDto> getAllRequestsByUserId(@RequestParam(required = false) Integer from,
+                                                               @RequestParam(required = false) Integer size,
+                                                               @RequestHeader(USER_ID_HEADER) long userId) {
+        if (from == null && size == null) {
+            return itemRequestService.getAllRequestsByUserId(userId);
+        }
+        return itemRequestService.getAllRequestsByUserId(userId, from == null ? 0 : from,
+                size == null ? DEFAULT_PAGE_SIZE : size);
     }
 
     @PostMapping
@@ -10,5 +10,7 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findByRequestor_IdOrderByCreatedDesc(long userId);
 
+    List<ItemRequest> findByRequestor_IdOrderByCreatedDesc(long userId, PageRequest pageRequest);
+
     List<ItemRequest> findByRequestor_IdIsNotOrderByCreatedDesc(long userId, PageRequest pageRequest);
 }
@@ -13,6 +13,8 @@ public interface ItemRequestService {
 
     List<ItemRequestResponseDto> getAllRequestsByUserId(long userId);
 
+    List<ItemRequestResponseDto> getAllRequestsByUserId(long userId, int from, int size);
+
     List<ItemRequestResponseDto> getAllRequests(long userId, int from, int size);
 
 }
@@ -9,29 +9,33 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoWithRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.UserLookup;
+import ru.practicum.shareit.user.UserSummary;
 import ru.practicum.shareit.utils.CustomPageRequest;
+import ru.practicum.shareit.utils.EntityTags;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
 
     @Transactional
     @Override
     public ItemRequestResponseDto addItemRequest(ItemRequestDto itemRequestDto, long userId) {
-        User requestor = findUserForRequest(userId);
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, requestor);
+        findUserForRequest(userId);
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, userLookup.getReference(userId));
         itemRequest = itemRequestRepository.save(itemRequest);
         List<ItemDtoWithRequest> items = findItems(itemRequest.getId());
         return ItemRequestMapper.itemRequestResponseDto(itemRequest, items);
@@ -39,32 +43,64 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestResponseDto getItemRequestById(long id, long userId) {
-        findUserForRequest(userId);
+        checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Запрос c id %s не найден", id)));
-        List<ItemDtoWithRequest> items = findItems(itemRequest.getId());
-        return ItemRequestMapper.itemRequestResponseDto(itemRequest, items);
+        List<Item> items = itemRepository.findByRequest_IdOrderById(id);
+        ItemRequestResponseDto itemRequestDto = ItemRequestMapper.itemRequestResponseDto(itemRequest, items.stream()
+                .map(ItemMapper::toItemDtoWithRequest)
+                .collect(Collectors.toList()));
+        itemRequestDto.setEtag(EntityTags.of("request", id,
+                items.size(),
+                items.stream().mapToLong(Item::getId).max().orElse(0),
+                items.stream().mapToLong(Item::getVersion).sum()));
+        return itemRequestDto;
     }
 
     @Override
     public List<ItemRequestResponseDto> getAllRequestsByUserId(long userId) {
-        findUserForRequest(userId);
         List<ItemRequest> requests = itemRequestRepository.findByRequestor_IdOrderByCreatedDesc(userId);
-        return requests
-                .stream()
-                .map(request -> ItemRequestMapper.itemRequestResponseDto(request, findItems(request.getId())))
-                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            checkUserExists(userId);
+        }
+        return toItemRequestResponseDtos(requests);
+    }
+
+    @Override
+    public List<ItemRequestResponseDto> getAllRequestsByUserId(long userId, int from, int size) {
+        PageRequest pageRequest = new CustomPageRequest(from, size, Sort.unsorted());
+        List<ItemRequest> requests = itemRequestRepository.findByRequestor_IdOrderByCreatedDesc(userId,
+                pageRequest);
+        if (requests.isEmpty()) {
+            checkUserExists(userId);
+        }
+        return toItemRequestResponseDtos(requests);
     }
 
     @Override
     public List<ItemRequestResponseDto> getAllRequests(long userId, int from, int size) {
-        findUserForRequest(userId);
+        checkUserExists(userId);
         PageRequest pageRequest = new CustomPageRequest(from, size,Sort.unsorted());
         List<ItemRequest> requests = itemRequestRepository.findByRequestor_IdIsNotOrderByCreatedDesc(userId,
                 pageRequest);
+        return toItemRequestResponseDtos(requests);
+    }
+
+    private List<ItemRequestResponseDto> toItemRequestResponseDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDtoWithRequest>> items = itemRepository.findByRequest_IdInOrderById(requestIds)
+                .stream()
+                .map(ItemMapper::toItemDtoWithRequest)
+                .collect(Collectors.groupingBy(ItemDtoWithRequest::getRequestId));
         return requests
                 .stream()
-                .map(request -> ItemRequestMapper.itemRequestResponseDto(request, findItems(request.getId())))
+                .map(request -> ItemRequestMapper.itemRequestResponseDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
@@ -75,8 +111,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
-    private User findUserForRequest(long userId) {
-        return userRepository.findById(userId)
+    private UserSummary findUserForRequest(long userId) {
+        return userLookup.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id %s не найден", userId)));
     }
+
+    private void checkUserExists(long userId) {
+        if (!userLookup.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь c id %s не найден", userId));
+        }
+    }
 }
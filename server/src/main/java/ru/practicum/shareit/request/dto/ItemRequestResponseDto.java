@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import ru.practicum.shareit.item.dto.ItemDtoWithRequest;
+import ru.practicum.shareit.utils.EntityTaggedDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,7 +14,7 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class ItemRequestResponseDto {
+public class ItemRequestResponseDto extends EntityTaggedDto {
     private Long id;
     private String description;
     private LocalDateTime created;
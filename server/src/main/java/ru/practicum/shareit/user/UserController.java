@@ -1,14 +1,17 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
+import ru.practicum.shareit.utils.BatchEntryDto;
 import ru.practicum.shareit.utils.Create;
 import ru.practicum.shareit.utils.Update;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * TODO Sprint add-controllers.
@@ -24,9 +27,23 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return userService.getUsersByIds(ids);
+    }
+
+    @GetMapping(path = "/lookups", params = "ids")
+    public List<BatchEntryDto<UserDto>> lookUpUsersByIds(@RequestParam List<Long> ids) {
+        return userService.getUsersByIds(ids)
+                .stream()
+                .map(user -> new BatchEntryDto<>(user.getId(), user.getEtag(), user))
+                .collect(Collectors.toList());
+    }
+
     @GetMapping("{id}")
-    public UserDto getUserById(@PathVariable long id) {
-        return userService.getUserById(id);
+    public ResponseEntity<UserDto> getUserById(@PathVariable long id) {
+        UserDto user = userService.getUserById(id);
+        return ResponseEntity.ok().eTag(user.getEtag()).body(user);
     }
 
     @PostMapping
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class UserLookup {
+    public static final String USERS_CACHE = "users";
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    public Optional<UserSummary> findById(long id) {
+        return userRepository.findById(id).map(UserSummary::of);
+    }
+
+    public boolean existsById(long id) {
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        if (cache != null && cache.get(id) != null) {
+            return true;
+        }
+        return userRepository.existsById(id);
+    }
+
+    /**
+     * Returns an uninitialized reference for associations, so a cached lookup never ends up attached to an entity.
+     */
+    public User getReference(long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    public void evict(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(id);
+                }
+            });
+        } else {
+            evictNow(id);
+        }
+    }
+
+    private void evictNow(long id) {
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        if (cache != null) {
+            cache.evictIfPresent(id);
+        }
+    }
+}
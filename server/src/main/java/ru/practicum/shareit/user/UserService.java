@@ -17,5 +17,7 @@ public interface UserService {
 
     UserDto getUserById(long id);
 
+    List<UserDto> getUsersByIds(List<Long> ids);
+
     void deleteUserById(long id);
 }
@@ -9,7 +9,10 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +20,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserLookup userLookup;
+    private final IdListLimit idListLimit;
+    private final OptimisticLockRetryTemplate retryTemplate;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -37,9 +43,12 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    @Transactional
     @Override
     public UserDto updateUser(UserDto userDto, long id) {
+        return retryTemplate.execute("updateUser", () -> applyUserUpdate(userDto, id));
+    }
+
+    private UserDto applyUserUpdate(UserDto userDto, long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id %s не найден", id)));
         String name = userDto.getName();
@@ -50,6 +59,7 @@ public class UserServiceImpl implements UserService {
         if (email != null) {
             user.setEmail(email);
         }
+        userLookup.evict(id);
         try {
             return UserMapper.toUserDto(userRepository.save(user));
         } catch (DuplicateEmailException e) {
@@ -60,15 +70,28 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getUserById(long id) {
-        User user = userRepository.findById(id)
+        UserSummary user = userLookup.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id %s не найден", id)));
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        idListLimit.check(ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return userRepository.findByIdInOrderById(ids)
+                .stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     @Override
     public void deleteUserById(long id) {
         getUserById(id);
+        userLookup.evict(id);
         userRepository.deleteById(id);
     }
 }
\ No newline at end of file
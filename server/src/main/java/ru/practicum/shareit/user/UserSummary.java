@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Immutable copy of the user columns that {@link UserLookup} caches; entities are never shared across sessions.
+ */
+@Getter
+@AllArgsConstructor
+public final class UserSummary {
+    private final long id;
+    private final String name;
+    private final String email;
+    private final long version;
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getEmail(), user.getVersion());
+    }
+}
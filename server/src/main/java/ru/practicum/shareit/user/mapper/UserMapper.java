@@ -1,13 +1,23 @@
 package ru.practicum.shareit.user.mapper;
 
+import ru.practicum.shareit.user.UserSummary;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.EntityTags;
 
 public class UserMapper {
 
     public static UserDto toUserDto(User user) {
-        return new UserDto(user.getId(), user.getName(), user.getEmail());
+        UserDto userDto = new UserDto(user.getId(), user.getName(), user.getEmail());
+        userDto.setEtag(EntityTags.of("user", user.getId(), user.getVersion()));
+        return userDto;
+    }
+
+    public static UserDto toUserDto(UserSummary user) {
+        UserDto userDto = new UserDto(user.getId(), user.getName(), user.getEmail());
+        userDto.setEtag(EntityTags.of("user", user.getId(), user.getVersion()));
+        return userDto;
     }
 
     public static User toUser(UserDto userDto) {
@@ -20,4 +20,10 @@ public class User {
     private String name;
     @Column(unique = true)
     private String email;
+    @Version
+    private long version;
+
+    public User(long id, String name, String email) {
+        this(id, name, email, 0L);
+    }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entry of the {@code /lookups} responses the gateway's lookup batcher splits back into single-entity responses.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchEntryDto<T> {
+    private long id;
+    private String etag;
+    private T value;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public abstract class EntityTaggedDto {
+    @JsonIgnore
+    private String etag;
+}
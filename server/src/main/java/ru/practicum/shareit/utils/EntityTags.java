@@ -0,0 +1,15 @@
+package ru.practicum.shareit.utils;
+
+import java.util.StringJoiner;
+
+public class EntityTags {
+
+    public static String of(String type, long id, long... versions) {
+        StringJoiner tag = new StringJoiner("-");
+        tag.add(type).add(String.valueOf(id));
+        for (long version : versions) {
+            tag.add(String.valueOf(version));
+        }
+        return tag.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.TooManyIdsException;
+
+import java.util.Collection;
+
+@Component
+public class IdListLimit {
+    private final int maxIds;
+
+    public IdListLimit(@Value("${shareit.multi-get.max-ids}") int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    public void check(Collection<Long> ids) {
+        if (ids.size() > maxIds) {
+            throw new TooManyIdsException(String.format("Можно запросить не более %s объектов, запрошено %s",
+                    maxIds, ids.size()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class OptimisticLockRetryTemplate {
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public OptimisticLockRetryTemplate(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                       @Value("${shareit.optimistic-lock.max-attempts}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            meterRegistry.counter("shareit.optimistic.lock.attempts", "operation", operation).increment();
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("shareit.optimistic.lock.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("shareit.optimistic.lock.exhausted", "operation", operation).increment();
+                    log.warn("Optimistic lock conflict in {} after {} attempts", operation, attempt);
+                    throw new ConcurrentUpdateException(
+                            "Данные были изменены параллельным запросом, повторите попытку");
+                }
+                log.debug("Optimistic lock conflict in {}, retrying (attempt {} of {})", operation, attempt,
+                        maxAttempts);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.utils;
+
+import java.util.Collections;
+
+public class VersionGuard {
+
+    /**
+     * Placeholders for an {@code (id, version) in (...)} guard over {@code count} rows, so one bulk update
+     * touches only rows whose version is still the one that was loaded.
+     */
+    public static String pairs(int count) {
+        return String.join(", ", Collections.nCopies(count, "(?, ?)"));
+    }
+}
@@ -0,0 +1,9 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings b SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id) WHERE b.owner_id IS NULL;
+
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_owner_to_users FOREIGN KEY (owner_id) REFERENCES users(id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, start_date DESC, id DESC);
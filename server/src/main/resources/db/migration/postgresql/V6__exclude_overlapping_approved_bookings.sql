@@ -0,0 +1,25 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+DECLARE
+  reopened INTEGER;
+BEGIN
+  UPDATE bookings b SET status = 'WAITING'
+  WHERE b.status = 'APPROVED'
+    AND EXISTS (SELECT 1 FROM bookings e
+                WHERE e.item_id = b.item_id
+                  AND e.status = 'APPROVED'
+                  AND e.start_date < b.end_date
+                  AND e.end_date > b.start_date
+                  AND (e.start_date, e.id) < (b.start_date, b.id));
+  GET DIAGNOSTICS reopened = ROW_COUNT;
+  IF reopened > 0 THEN
+    RAISE WARNING 'Moved % approved bookings that overlap an earlier approved booking of the same item back to WAITING',
+      reopened;
+  END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT excl_bookings_approved_overlap
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status = 'APPROVED')
+  DEFERRABLE INITIALLY DEFERRED;
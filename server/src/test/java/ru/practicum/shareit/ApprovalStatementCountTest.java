@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the statements of approvals that commit, so flush-time updates are included in the totals.
+ */
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:approval-statements")
+public class ApprovalStatementCountTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        owner = userRepository.save(new User(0L, "owner", "owner" + suffix + "@approvals.com"));
+        booker = userRepository.save(new User(0L, "booker", "booker" + suffix + "@approvals.com"));
+        Item newItem = new Item(0L, "item", "description", true);
+        newItem.setOwner(owner);
+        item = itemRepository.save(newItem);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void should_approve_booking_without_loading_caller() {
+        Booking waiting = bookingRepository.save(new Booking(0L, LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(4), item, booker, BookingStatus.WAITING));
+
+        long statements = countStatements(patch("/bookings/{id}?approved=true", waiting.getId())
+                .header(USER_ID_HEADER, owner.getId()), status().isOk(), jsonPath("$.status", is("APPROVED")),
+                jsonPath("$.booker.name", is("booker")));
+
+        assertThat(statements, equalTo(4L));
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount(), equalTo(1L));
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getLoadCount(), equalTo(1L));
+        assertThat(bookingRepository.findById(waiting.getId()).orElseThrow().getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void should_approve_batch_with_one_booking_update_and_one_item_update() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<Booking> waiting = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            waiting.add(new Booking(0L, start.plusDays(i), start.plusDays(i).plusHours(12), item, booker,
+                    BookingStatus.WAITING));
+        }
+        List<Long> ids = new ArrayList<>();
+        bookingRepository.saveAll(waiting).forEach(booking -> ids.add(booking.getId()));
+
+        long statements = countStatements(patch("/bookings/batch?approved=true")
+                        .header(USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookingIds\":" + ids + "}"),
+                status().isOk(), jsonPath("$.length()", is(50)), jsonPath("$[49].status", is("APPROVED")));
+
+        assertThat(statements, equalTo(5L));
+        assertThat(statistics.getEntityUpdateCount(), equalTo(0L));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion(), equalTo(item.getVersion() + 1));
+        assertThat(bookingRepository.findAllById(ids).stream()
+                .allMatch(booking -> booking.getStatus() == BookingStatus.APPROVED), is(true));
+    }
+
+    @Test
+    void should_reject_batch_without_booking_ids() {
+        long statements = countStatements(patch("/bookings/batch?approved=true")
+                        .header(USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"),
+                status().isBadRequest());
+
+        assertThat(statements, equalTo(0L));
+    }
+
+    @SneakyThrows
+    private long countStatements(RequestBuilder request, ResultMatcher... matchers) {
+        statistics.clear();
+        mockMvc.perform(request).andExpectAll(matchers);
+        return statistics.getPrepareStatementCount();
+    }
+}
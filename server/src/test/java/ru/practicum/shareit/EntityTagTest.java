@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:entity-tags")
+public class EntityTagTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+
+    @Test
+    @SneakyThrows
+    void should_change_user_etag_after_update() {
+        UserDto user = userService.addUser(new UserDtoRequest("user", "user@tags.com"));
+        String etag = etag(get("/users/{id}", user.getId()));
+
+        mockMvc.perform(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(patch("/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\"}"))
+                .andExpect(status().isOk());
+
+        String updated = etag(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(updated, not(equalTo(etag)));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_change_item_and_booking_etags_after_approval() {
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "owner@tags.com"));
+        UserDto booker = userService.addUser(new UserDtoRequest("booker", "booker@tags.com"));
+        ItemDto item = itemService.addItem(new ItemDtoRequest("item", "description", Boolean.TRUE), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long bookingId = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start, start.plusDays(1))).getId();
+        String itemEtag = etag(get("/items/{id}", item.getId()).header(USER_ID_HEADER, owner.getId()));
+        String bookingEtag = etag(get("/bookings/{id}", bookingId).header(USER_ID_HEADER, booker.getId()));
+
+        bookingService.changeBookingStatus(bookingId, owner.getId(), true);
+
+        assertThat(etag(get("/items/{id}", item.getId()).header(USER_ID_HEADER, owner.getId())),
+                not(equalTo(itemEtag)));
+        assertThat(etag(get("/bookings/{id}", bookingId).header(USER_ID_HEADER, booker.getId())),
+                not(equalTo(bookingEtag)));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_change_request_etag_when_item_is_added() {
+        UserDto requestor = userService.addUser(new UserDtoRequest("requestor", "requestor@tags.com"));
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "responder@tags.com"));
+        long requestId = itemRequestService.addItemRequest(new ItemRequestDto("need a drill"),
+                requestor.getId()).getId();
+        String etag = etag(get("/requests/{id}", requestId).header(USER_ID_HEADER, requestor.getId()));
+
+        itemService.addItem(new ItemDtoRequest("drill", "description", Boolean.TRUE, requestId), owner.getId());
+
+        assertThat(etag(get("/requests/{id}", requestId).header(USER_ID_HEADER, requestor.getId())),
+                not(equalTo(etag)));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_return_lookup_etags_matching_single_lookups() {
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "batch@tags.com"));
+        ItemDto first = itemService.addItem(new ItemDtoRequest("first", "description", Boolean.TRUE), owner.getId());
+        ItemDto second = itemService.addItem(new ItemDtoRequest("second", "description", Boolean.TRUE), owner.getId());
+
+        mockMvc.perform(get("/items/lookups?ids={first},{second}", first.getId(), second.getId())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].etag", is(unquoted(etag(get("/items/{id}", first.getId())
+                        .header(USER_ID_HEADER, owner.getId()))))))
+                .andExpect(jsonPath("$[1].etag", is(unquoted(etag(get("/items/{id}", second.getId())
+                        .header(USER_ID_HEADER, owner.getId()))))));
+        mockMvc.perform(get("/users/lookups?ids={id}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].etag", is(unquoted(etag(get("/users/{id}", owner.getId()))))));
+    }
+
+    private String unquoted(String etag) {
+        return etag.substring(1, etag.length() - 1);
+    }
+
+    @SneakyThrows
+    private String etag(MockHttpServletRequestBuilder request) {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
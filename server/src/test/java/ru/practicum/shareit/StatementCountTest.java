@@ -0,0 +1,195 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+public class StatementCountTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0L, "owner", "owner@statements.com"));
+        booker = userRepository.save(new User(0L, "booker", "booker@statements.com"));
+        Item item = new Item(0L, "item", "description", true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        LocalDateTime now = LocalDateTime.now();
+        booking = bookingRepository.save(new Booking(0L, now.minusDays(2), now.minusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(0L, now.plusDays(1), now.plusDays(2), item, booker,
+                BookingStatus.APPROVED));
+        em.flush();
+        em.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void should_list_booker_bookings_in_one_statement() {
+        long statements = countStatements(get("/bookings").header(USER_ID_HEADER, booker.getId()),
+                status().isOk());
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void should_list_owner_bookings_in_one_statement() {
+        long statements = countStatements(get("/bookings/owner").header(USER_ID_HEADER, owner.getId()),
+                status().isOk());
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void should_list_full_page_of_bookings_in_one_statement() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 100; i++) {
+            Item item = new Item(0L, "item " + i, "description", true);
+            item.setOwner(owner);
+            item = itemRepository.save(item);
+            bookingRepository.save(new Booking(0L, now.plusDays(i + 3), now.plusDays(i + 4), item, booker,
+                    BookingStatus.WAITING));
+        }
+        em.flush();
+        em.clear();
+
+        long statements = countStatements(get("/bookings?from=0&size=100").header(USER_ID_HEADER, booker.getId()),
+                status().isOk(), jsonPath("$.length()", is(100)));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void should_get_booking_in_one_statement() {
+        long statements = countStatements(get("/bookings/{id}", booking.getId()).header(USER_ID_HEADER,
+                owner.getId()), status().isOk(), jsonPath("$.item.name", is("item")),
+                jsonPath("$.booker.name", is("booker")));
+
+        assertThat(statements, equalTo(1L));
+        assertThat(userLoads(), equalTo(1L));
+    }
+
+    @Test
+    void should_get_bookings_by_ids_in_one_statement() {
+        List<Long> ids = new ArrayList<>();
+        bookingRepository.findAll().forEach(saved -> ids.add(saved.getId()));
+        em.clear();
+
+        long statements = countStatements(get("/bookings")
+                        .param("ids", ids.stream().map(String::valueOf).toArray(String[]::new))
+                        .header(USER_ID_HEADER, owner.getId()),
+                status().isOk(), jsonPath("$.length()", is(2)), jsonPath("$[1].item.name", is("item")),
+                jsonPath("$[1].booker.name", is("booker")));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void should_get_items_by_ids_in_fixed_statements() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Item item = new Item(0L, "batch item " + i, "description", true);
+            item.setOwner(owner);
+            ids.add(itemRepository.save(item).getId());
+        }
+        em.flush();
+        em.clear();
+
+        long statements = countStatements(get("/items")
+                        .param("ids", ids.stream().map(String::valueOf).toArray(String[]::new))
+                        .header(USER_ID_HEADER, owner.getId()),
+                status().isOk(), jsonPath("$.length()", is(20)));
+
+        assertThat(statements, equalTo(4L));
+        assertThat(userLoads(), equalTo(0L));
+    }
+
+    @Test
+    void should_list_owner_items_without_loading_caller() {
+        long statements = countStatements(get("/items").header(USER_ID_HEADER, owner.getId()), status().isOk());
+
+        assertThat(statements, equalTo(4L));
+        assertThat(userLoads(), equalTo(0L));
+    }
+
+    @Test
+    void should_check_existence_only_when_listing_is_empty() {
+        long statements = countStatements(get("/requests").header(USER_ID_HEADER, owner.getId()),
+                status().isOk());
+
+        assertThat(statements, equalTo(2L));
+        assertThat(userLoads(), equalTo(0L));
+    }
+
+    @Test
+    void should_list_other_requests_with_existence_check() {
+        long statements = countStatements(get("/requests/all").header(USER_ID_HEADER, owner.getId()),
+                status().isOk());
+
+        assertThat(statements, equalTo(2L));
+        assertThat(userLoads(), equalTo(0L));
+    }
+
+    @Test
+    void should_reject_unknown_user_after_empty_listing() {
+        long statements = countStatements(get("/items").header(USER_ID_HEADER, 0L), status().isNotFound());
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @SneakyThrows
+    private long countStatements(RequestBuilder request, ResultMatcher... matchers) {
+        statistics.clear();
+        mockMvc.perform(request).andExpectAll(matchers);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long userLoads() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.BookingValidationException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:booking-approvals")
+public class BookingApprovalConcurrencyTest {
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    @SneakyThrows
+    void should_approve_only_one_of_concurrent_overlapping_bookings() {
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "owner@approvals.com"));
+        UserDto booker = userService.addUser(new UserDtoRequest("booker", "booker@approvals.com"));
+        UserDto secondBooker = userService.addUser(new UserDtoRequest("second", "second@approvals.com"));
+        ItemDto item = itemService.addItem(new ItemDtoRequest("item", "description", Boolean.TRUE), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long first = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start, start.plusDays(2))).getId();
+        long second = bookingService.addBooking(secondBooker.getId(),
+                new BookingDtoRequest(item.getId(), start.plusDays(1), start.plusDays(3))).getId();
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<BookingStatus>> results = new ArrayList<>();
+        try {
+            for (long id : List.of(first, second)) {
+                Callable<BookingStatus> approve = () -> {
+                    ready.await();
+                    return bookingService.changeBookingStatus(id, owner.getId(), true).getStatus();
+                };
+                results.add(executor.submit(approve));
+            }
+            ready.countDown();
+            int approved = 0;
+            int conflicts = 0;
+            for (Future<BookingStatus> result : results) {
+                try {
+                    assertThat(result.get()).isEqualTo(BookingStatus.APPROVED);
+                    approved++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(BookingConflictException.class);
+                    conflicts++;
+                }
+            }
+            assertThat(approved).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void should_approve_booking_once_under_concurrent_approvals() {
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "owner@twice.com"));
+        UserDto booker = userService.addUser(new UserDtoRequest("booker", "booker@twice.com"));
+        ItemDto item = itemService.addItem(new ItemDtoRequest("item", "description", Boolean.TRUE), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long id = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start, start.plusDays(2))).getId();
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<BookingStatus>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                Callable<BookingStatus> approve = () -> {
+                    ready.await();
+                    return bookingService.changeBookingStatus(id, owner.getId(), true).getStatus();
+                };
+                results.add(executor.submit(approve));
+            }
+            ready.countDown();
+            int approved = 0;
+            int rejected = 0;
+            for (Future<BookingStatus> result : results) {
+                try {
+                    assertThat(result.get()).isEqualTo(BookingStatus.APPROVED);
+                    approved++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOfAny(BookingValidationException.class,
+                            BookingConflictException.class);
+                    rejected++;
+                }
+            }
+            assertThat(approved).isEqualTo(1);
+            assertThat(rejected).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class BookingApprovalPostgresTest extends BookingApprovalConcurrencyTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BookingApprovalPostgresTest(BookingService bookingService, UserService userService,
+                                       ItemService itemService, JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager) {
+        super(bookingService, userService, itemService);
+        this.bookingService = bookingService;
+        this.userService = userService;
+        this.itemService = itemService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations",
+                () -> "classpath:db/migration/common,classpath:db/migration/{vendor}");
+    }
+
+    @Test
+    void should_create_deferred_approved_overlap_exclusion() {
+        Map<String, Object> constraint = jdbcTemplate.queryForMap("SELECT condeferrable, condeferred "
+                + "FROM pg_constraint WHERE conname = 'excl_bookings_approved_overlap'");
+
+        assertThat(constraint).containsEntry("condeferrable", true).containsEntry("condeferred", true);
+    }
+
+    @Test
+    void should_reject_overlapping_approved_bookings_at_commit() {
+        UserDto owner = userService.addUser(new UserDtoRequest("owner", "owner@exclusion.com"));
+        UserDto booker = userService.addUser(new UserDtoRequest("booker", "booker@exclusion.com"));
+        ItemDto item = itemService.addItem(new ItemDtoRequest("item", "description", Boolean.TRUE), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long first = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start, start.plusDays(2))).getId();
+        long second = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start.plusDays(1), start.plusDays(3))).getId();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                assertThat(jdbcTemplate.update("UPDATE bookings SET status = 'APPROVED' WHERE id IN (?, ?)",
+                        first, second)).isEqualTo(2)))
+                .hasStackTraceContaining("excl_bookings_approved_overlap");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE status = 'APPROVED' "
+                + "AND id IN (?, ?)", Long.class, first, second)).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:booking-batches")
+public class BookingBatchConcurrencyTest {
+    private static final AtomicReference<Runnable> AFTER_BOOKINGS_READ = new AtomicReference<>();
+
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final MeterRegistry meterRegistry;
+
+    private UserDto owner;
+    private long bookingId;
+    private double conflictsBefore;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        owner = userService.addUser(new UserDtoRequest("owner", "owner" + suffix + "@batches.com"));
+        UserDto booker = userService.addUser(new UserDtoRequest("booker", "booker" + suffix + "@batches.com"));
+        ItemDto item = itemService.addItem(new ItemDtoRequest("item", "description", Boolean.TRUE), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingId = bookingService.addBooking(booker.getId(),
+                new BookingDtoRequest(item.getId(), start, start.plusDays(2))).getId();
+        conflictsBefore = conflicts();
+    }
+
+    @Test
+    void should_not_overwrite_approval_committed_after_batch_read_bookings() {
+        changeStatusAfterFirstRead(true);
+
+        List<BookingBatchResultDto> results = bookingService.changeBookingStatuses(owner.getId(),
+                List.of(bookingId), false);
+
+        assertThat(results).extracting(BookingBatchResultDto::getError)
+                .containsExactly("Бронирование уже подтверждено");
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(conflicts() - conflictsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void should_retry_batch_on_fresh_state_after_concurrent_rejection() {
+        changeStatusAfterFirstRead(false);
+
+        List<BookingBatchResultDto> results = bookingService.changeBookingStatuses(owner.getId(),
+                List.of(bookingId), true);
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getVersion()).isEqualTo(2);
+        assertThat(conflicts() - conflictsBefore).isEqualTo(1);
+    }
+
+    private void changeStatusAfterFirstRead(boolean approved) {
+        AFTER_BOOKINGS_READ.set(() -> CompletableFuture.runAsync(() -> bookingService.changeBookingStatus(bookingId,
+                owner.getId(), approved)).join());
+    }
+
+    private double conflicts() {
+        return meterRegistry.counter("shareit.optimistic.lock.conflicts", "operation", "changeBookingStatuses")
+                .count();
+    }
+
+    @TestConfiguration
+    static class BookingReadHookConfig {
+        @Bean
+        static BeanPostProcessor bookingReadHook() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof BookingRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                        Object result = invocation.proceed();
+                        if (invocation.getMethod().getName().equals("findAllById")) {
+                            Runnable hook = AFTER_BOOKINGS_READ.getAndSet(null);
+                            if (hook != null) {
+                                hook.run();
+                            }
+                        }
+                        return result;
+                    });
+                    return proxyFactory.getProxy();
+                }
+            };
+        }
+    }
+}
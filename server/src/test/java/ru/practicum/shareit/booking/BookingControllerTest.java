@@ -2,30 +2,42 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.hibernate.TransactionException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.util.NestedServletException;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,6 +82,19 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).addBooking(anyLong(), any(BookingDtoRequest.class));
     }
 
+    @Test
+    @SneakyThrows
+    void should_return_conflict_for_overlapping_booking() {
+        when(bookingService.addBooking(anyLong(), any(BookingDtoRequest.class)))
+                .thenThrow(new BookingConflictException("Вещь с id 1 уже забронирована"));
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(bookingDtoRequest)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @SneakyThrows
     void should_change_booking_status() {
@@ -84,9 +109,68 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).changeBookingStatus(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    @SneakyThrows
+    void should_return_conflict_when_approved_overlap_exclusion_fails_at_commit() {
+        when(bookingService.changeBookingStatus(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new JpaSystemException(new TransactionException("Unable to commit against JDBC Connection",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01"))));
+
+        mockMvc.perform(patch("/bookings/1?approved=true")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Вещь уже забронирована на указанные даты"));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_return_conflict_when_approved_overlap_exclusion_fails_on_flush() {
+        when(bookingService.changeBookingStatus(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        mockMvc.perform(patch("/bookings/1?approved=true")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void should_not_map_other_integrity_violations_to_conflict() {
+        when(bookingService.changeBookingStatus(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("violates foreign key constraint", "23503")));
+
+        assertThrows(NestedServletException.class, () -> mockMvc.perform(patch("/bookings/1?approved=true")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)));
+    }
+
+    @Test
+    @SneakyThrows
+    void should_change_booking_statuses() {
+        List<BookingBatchResultDto> results = List.of(new BookingBatchResultDto(1L, BookingStatus.APPROVED, null),
+                new BookingBatchResultDto(2L, null, "Бронирование с id 2 не найдено"));
+        when(bookingService.changeBookingStatuses(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(results);
+
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new BookingBatchDtoRequest(List.of(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("Бронирование с id 2 не найдено"));
+        verify(bookingService, times(1)).changeBookingStatuses(1L, List.of(1L, 2L), true);
+        verify(bookingService, never()).changeBookingStatus(anyLong(), anyLong(), anyBoolean());
+    }
+
     @Test
     @SneakyThrows
     void should_get_booking_by_id() {
+        bookingDtoResponse.setEtag("booking-1-0-0-0");
         when(bookingService.getBookingById(anyLong(), anyLong()))
                 .thenReturn(bookingDtoResponse);
 
@@ -94,10 +178,26 @@ public class BookingControllerTest {
                         .header(USER_ID_HEADER, "1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"booking-1-0-0-0\""))
                 .andExpectAll(idMatcher(), statusMather(), bookerIdMatcher(), itemIdMatcher());
         verify(bookingService, times(1)).getBookingById(anyLong(), anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void should_get_bookings_by_ids() {
+        when(bookingService.getBookingsByIds(List.of(1L, 2L), 1L))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        mockMvc.perform(get("/bookings?ids=1,2")
+                        .header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()))
+                .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().toString()));
+        verify(bookingService, never()).getAllBookingsByUserId(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
     @Test
     @SneakyThrows
     void should_get_bookings_by_user_id() {
@@ -132,6 +232,26 @@ public class BookingControllerTest {
                 anyInt(), anyInt());
     }
 
+    @Test
+    @SneakyThrows
+    void should_get_bookings_by_user_id_after_cursor() {
+        List<BookingDtoResponse> expectedResult = Collections.singletonList(bookingDtoResponse);
+        String cursor = BookingCursor.of(approvedBookingDtoResponse).encode();
+        when(bookingService.getBookingsByUserIdAfterCursor(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(expectedResult);
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", cursor)
+                        .param("size", "1")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingDtoResponse).encode()));
+        verify(bookingService, times(1)).getBookingsByUserIdAfterCursor(1L, "ALL", cursor, 1);
+        verify(bookingService, never()).getAllBookingsByUserId(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
     private ResultMatcher idMatcher() {
         return jsonPath("$.id").value(bookingDtoResponse.getId());
     }
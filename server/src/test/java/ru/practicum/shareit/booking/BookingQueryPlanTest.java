@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.monitoring.RequestQueryStatistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.StringContains.containsString;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:booking-query-plans")
+public class BookingQueryPlanTest {
+    private static final int USERS = 500;
+    private static final int ITEMS = 5000;
+    private static final int BOOKINGS_PER_ITEM = 4;
+    private static final long USER_ID = 7L;
+    private static final long ITEM_ID = 70L;
+    private static final int SIZE = 10;
+
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        Integer bookings = jdbcTemplate.queryForObject("select count(*) from bookings", Integer.class);
+        if (bookings != null && bookings > 0) {
+            return;
+        }
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@plans.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, "item" + id, "description" + id, true, id % USERS + 1});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into items (id, name, description, available, owner_id) values (?, ?, ?, ?, ?)", items);
+        List<Object[]> rows = new ArrayList<>();
+        BookingStatus[] statuses = BookingStatus.values();
+        long id = 1;
+        for (long itemId = 1; itemId <= ITEMS; itemId++) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++, id++) {
+                LocalDateTime start = now.minusDays(ITEMS).plusDays(itemId).plusHours(i * 6L);
+                rows.add(new Object[]{id, start, start.plusHours(3), itemId, id % USERS + 1,
+                        statuses[(int) (id % statuses.length)].name(), itemId % USERS + 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status," +
+                " owner_id) values (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void should_use_indexes_for_booker_queries() {
+        BookingCursor cursor = new BookingCursor(now, 1000L);
+
+        for (BookingState state : BookingState.values()) {
+            assertUsesIndexes(() -> bookingRepository.findByRoleAndState(BookingRole.BOOKER, USER_ID, state, now,
+                    0, SIZE), params(state, SIZE));
+            assertUsesIndexes(() -> bookingRepository.findByRoleAndStateAfterCursor(BookingRole.BOOKER, USER_ID,
+                    state, now, cursor, SIZE), params(state, cursor.getStart(), cursor.getStart(), cursor.getId(), SIZE));
+        }
+    }
+
+    @Test
+    void should_use_owner_index_for_item_owner_queries() {
+        BookingCursor cursor = new BookingCursor(now, 1000L);
+
+        for (BookingState state : BookingState.values()) {
+            assertUsesOwnerIndex(() -> bookingRepository.findByRoleAndState(BookingRole.OWNER, USER_ID, state, now,
+                    0, SIZE), params(state, SIZE));
+            assertUsesOwnerIndex(() -> bookingRepository.findByRoleAndStateAfterCursor(BookingRole.OWNER, USER_ID,
+                    state, now, cursor, SIZE), params(state, cursor.getStart(), cursor.getStart(), cursor.getId(), SIZE));
+        }
+    }
+
+    @Test
+    void should_use_indexes_for_item_queries() {
+        assertUsesIndexes(() -> bookingRepository.findByBooker_IdAndItem_IdAndEndIsBeforeAndStatusOrderByStart(
+                USER_ID, ITEM_ID, now, BookingStatus.APPROVED), USER_ID, ITEM_ID, now, BookingStatus.APPROVED.name());
+        assertUsesIndexes(() -> bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(ITEM_ID,
+                BookingStatus.APPROVED, now, now.minusDays(1)), ITEM_ID, BookingStatus.APPROVED.name(), now,
+                now.minusDays(1), 1);
+        assertUsesIndexes(() -> bookingRepository.findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(
+                ITEM_ID, BookingStatus.APPROVED, now), ITEM_ID, BookingStatus.APPROVED.name(), now, 1);
+        assertUsesIndexes(() -> bookingRepository.findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(
+                ITEM_ID, BookingStatus.APPROVED, now), ITEM_ID, BookingStatus.APPROVED.name(), now, 1);
+        assertUsesIndexes(() -> bookingRepository.findLastBookings(List.of(ITEM_ID, ITEM_ID + 1),
+                        BookingStatus.APPROVED, now), ITEM_ID, ITEM_ID + 1, BookingStatus.APPROVED.name(),
+                BookingStatus.APPROVED.name(), now);
+        assertUsesIndexes(() -> bookingRepository.findNextBookings(List.of(ITEM_ID, ITEM_ID + 1),
+                        BookingStatus.APPROVED, now), ITEM_ID, ITEM_ID + 1, BookingStatus.APPROVED.name(),
+                BookingStatus.APPROVED.name(), now);
+    }
+
+    private Object[] params(BookingState state, Object... tail) {
+        List<Object> params = new ArrayList<>();
+        params.add(USER_ID);
+        switch (state) {
+            case CURRENT:
+            case PAST:
+                params.add(now);
+                params.add(now);
+                break;
+            case FUTURE:
+                params.add(now);
+                break;
+            case WAITING:
+            case REJECTED:
+                params.add(state.name());
+                break;
+            default:
+                break;
+        }
+        params.addAll(List.of(tail));
+        return params.toArray();
+    }
+
+    private void assertUsesOwnerIndex(Runnable query, Object... params) {
+        String plan = assertUsesIndexes(query, params);
+        assertThat(plan, containsString(": OWNER_ID = ?1"));
+    }
+
+    private String assertUsesIndexes(Runnable query, Object... params) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.start("plan", Long.MAX_VALUE);
+        try {
+            query.run();
+        } finally {
+            RequestQueryStatistics.finish();
+        }
+        String sql = statistics.getLastSql();
+        assertThat(sql, sql.chars().filter(c -> c == '?').count(), equalTo((long) params.length));
+        String plan = String.join("\n", jdbcTemplate.query("explain " + sql,
+                (rs, rowNum) -> rs.getString(1), params));
+        assertThat(plan, not(containsString("tableScan")));
+        return plan;
+    }
+}
@@ -4,19 +4,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Sort;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.utils.CustomPageRequest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class BookingRepositoryTest {
@@ -26,14 +32,14 @@ public class BookingRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private User secondUser;
     private Item item;
-    private CustomPageRequest pageRequest;
     private LocalDateTime now;
 
     @BeforeEach
     void setUp() {
-        pageRequest = new CustomPageRequest(0, 10, Sort.unsorted());
         now = LocalDateTime.now();
 
         User user = userRepository.save(new User(1L, "user 1", "user1@email.com"));
@@ -49,8 +55,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_booker_id() {
-        final List<Booking> bookings = bookingRepository.findByBooker_Id(secondUser.getId(),
-                pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.ALL, now, 0, 10);
 
         assertEquals(2, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -59,16 +65,16 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_booker_id_and_current_state() {
-        final List<Booking> bookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(
-                secondUser.getId(), now, now, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.CURRENT, now, 0, 10);
 
         assertEquals(0, bookings.size());
     }
 
     @Test
     void should_find_bookings_by_booker_id_and_past_state() {
-        final List<Booking> bookings = bookingRepository.findByBooker_IdAndEndIsBefore(
-                secondUser.getId(), now, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.PAST, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -76,8 +82,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_booker_id_and_future_state() {
-        final List<Booking> bookings = bookingRepository.findByBooker_IdAndStartIsAfter(
-                secondUser.getId(),now, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.FUTURE, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -85,8 +91,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_booker_id_and_waiting_status() {
-        final List<Booking> bookings = bookingRepository.findByBooker_IdAndStatus(
-                secondUser.getId(), BookingStatus.WAITING, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.WAITING, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -95,8 +101,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_item_owner_id() {
-        final List<Booking> bookings = bookingRepository.findByItem_Owner_Id(item.getOwner().getId(),
-                pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.ALL, now, 0, 10);
 
         assertEquals(2, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -105,17 +111,16 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_item_owner_id_and_current_state() {
-        final List<Booking> bookings = bookingRepository
-                .findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(item.getOwner().getId(), now, now,
-                        pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.CURRENT, now, 0, 10);
 
         assertEquals(0, bookings.size());
     }
 
     @Test
     void should_find_bookings_by_by_item_owner_id_and_past_state() {
-        final List<Booking> bookings = bookingRepository.findByItem_Owner_IdAndEndIsBefore(
-                item.getOwner().getId(), now, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.PAST, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -123,8 +128,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_item_owner_id_and_future_state() {
-        final List<Booking> bookings = bookingRepository.findByItem_Owner_IdAndStartIsAfter(
-                item.getOwner().getId(),now, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.FUTURE, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -132,8 +137,8 @@ public class BookingRepositoryTest {
 
     @Test
     void should_find_bookings_by_item_owner_id_and_waiting_status() {
-        final List<Booking> bookings = bookingRepository.findByItem_Owner_IdAndStatus(
-                item.getOwner().getId(), BookingStatus.WAITING, pageRequest);
+        final List<Booking> bookings = bookingRepository.findByRoleAndState(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.WAITING, now, 0, 10);
 
         assertEquals(1, bookings.size());
         assertEquals(secondUser, bookings.get(0).getBooker());
@@ -151,13 +156,103 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void should_find_by_item_id_and_status() {
-        final List<Booking> bookings = bookingRepository.findByItem_IdAndStatus(item.getId(), BookingStatus.APPROVED);
+    void should_find_last_and_next_booking_by_item_id() {
+        Booking nextBooking = bookingRepository.save(new Booking(3L, now.plusDays(4), now.plusDays(5), item,
+                secondUser, BookingStatus.APPROVED));
+
+        final Optional<Booking> last = bookingRepository.findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(
+                item.getId(), BookingStatus.APPROVED, now);
+        final Optional<Booking> next = bookingRepository.findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(
+                item.getId(), BookingStatus.APPROVED, now);
+
+        assertTrue(last.isPresent());
+        assertEquals(now.minusDays(2), last.get().getStart());
+        assertTrue(next.isPresent());
+        assertEquals(nextBooking.getId(), next.get().getId());
+    }
+
+    @Test
+    void should_find_last_and_next_bookings_by_item_ids() {
+        bookingRepository.save(new Booking(3L, now.minusDays(6), now.minusDays(5), item, secondUser,
+                BookingStatus.APPROVED));
+        Booking nextBooking = bookingRepository.save(new Booking(4L, now.plusDays(4), now.plusDays(5), item,
+                secondUser, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(5L, now.plusDays(6), now.plusDays(7), item, secondUser,
+                BookingStatus.APPROVED));
+
+        final List<Booking> last = bookingRepository.findLastBookings(List.of(item.getId()),
+                BookingStatus.APPROVED, now);
+        final List<Booking> next = bookingRepository.findNextBookings(List.of(item.getId()),
+                BookingStatus.APPROVED, now);
+
+        assertEquals(1, last.size());
+        assertEquals(now.minusDays(2), last.get(0).getStart());
+        assertEquals(1, next.size());
+        assertEquals(nextBooking.getId(), next.get(0).getId());
+    }
+
+    @Test
+    void should_find_bookings_by_booker_id_after_cursor() {
+        final List<Booking> firstPage = bookingRepository.findByRoleAndStateAfterCursor(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.ALL, now, null, 1);
+        final List<Booking> secondPage = bookingRepository.findByRoleAndStateAfterCursor(BookingRole.BOOKER,
+                secondUser.getId(), BookingState.ALL, now,
+                new BookingCursor(firstPage.get(0).getStart(), firstPage.get(0).getId()), 1);
+
+        assertEquals(1, firstPage.size());
+        assertEquals(now.plusDays(2), firstPage.get(0).getStart());
+        assertEquals(1, secondPage.size());
+        assertEquals(now.minusDays(2), secondPage.get(0).getStart());
+    }
+
+    @Test
+    void should_find_bookings_by_item_owner_id_and_state_after_cursor() {
+        final List<Booking> bookings = bookingRepository.findByRoleAndStateAfterCursor(BookingRole.OWNER,
+                item.getOwner().getId(), BookingState.PAST, now, new BookingCursor(now, Long.MAX_VALUE), 10);
 
         assertEquals(1, bookings.size());
-        assertEquals(secondUser, bookings.get(0).getBooker());
         assertEquals(BookingStatus.APPROVED, bookings.get(0).getStatus());
     }
 
+    @Test
+    void should_detect_overlap_with_approved_booking() {
+        assertTrue(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, now.minusHours(36), now.minusDays(3)));
+        assertTrue(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, now.minusHours(30), now.minusHours(40)));
+    }
 
+    @Test
+    void should_not_detect_overlap_with_adjacent_or_waiting_booking() {
+        LocalDateTime start = now.plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(3L, start, start.plusDays(1), item, secondUser, BookingStatus.APPROVED));
+
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, start.plusDays(2), start.plusDays(1)));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, start, start.minusDays(1)));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, now.plusDays(3), now.plusDays(2)));
+    }
+
+    @Test
+    void should_update_statuses_only_of_unchanged_versions_in_one_statement() {
+        Booking waiting = bookingRepository.saveAndFlush(new Booking(3L, now.plusDays(5), now.plusDays(6), item,
+                secondUser, BookingStatus.WAITING));
+        Booking changed = bookingRepository.saveAndFlush(new Booking(4L, now.plusDays(7), now.plusDays(8), item,
+                secondUser, BookingStatus.WAITING));
+        Booking stale = new Booking(changed.getId(), changed.getStart(), changed.getEnd(), item, secondUser,
+                BookingStatus.WAITING);
+        changed.setStatus(BookingStatus.REJECTED);
+        bookingRepository.saveAndFlush(changed);
+
+        int updated = bookingRepository.updateStatusIfVersionUnchanged(List.of(waiting, stale),
+                BookingStatus.APPROVED);
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(waiting.getId()).orElseThrow().getStatus());
+        assertEquals(1L, bookingRepository.findById(waiting.getId()).orElseThrow().getVersion());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(changed.getId()).orElseThrow().getStatus());
+    }
 }
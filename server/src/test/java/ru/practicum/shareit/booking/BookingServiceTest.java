@@ -1,20 +1,32 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingValidationException;
 import ru.practicum.shareit.exception.BookingWrongStatusException;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.OwnerPermissionException;
+import ru.practicum.shareit.exception.TooManyIdsException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -24,10 +36,19 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class BookingServiceTest {
+    private static final int MAX_IDS = 6;
     private static BookingService bookingService;
     private static BookingRepository bookingRepository;
     private static ItemRepository itemRepository;
@@ -58,7 +79,9 @@ public class BookingServiceTest {
         bookingRepository = Mockito.mock(BookingRepository.class);
         itemRepository = Mockito.mock(ItemRepository.class);
         userRepository = Mockito.mock(UserRepository.class);
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, new UserLookup(userRepository, new NoOpCacheManager()), itemRepository,
+                new OptimisticLockRetryTemplate(Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3),
+                new IdListLimit(MAX_IDS));
         item.setAvailable(Boolean.TRUE);
     }
 
@@ -109,12 +132,28 @@ public class BookingServiceTest {
     }
 
     @Test
-    void should_not_change_status_by_not_owner() {
+    void should_create_booking_with_item_owner_id() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.save(any(Booking.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
+
+        bookingService.addBooking(secondUser.getId(), bookingDtoRequest);
+
+        verify(bookingRepository).save(captor.capture());
+        assertThat(captor.getValue().getOwnerId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void should_not_change_status_by_not_owner() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
                 .thenReturn(Optional.of(nextBooking));
 
         final OwnerPermissionException e = Assertions.assertThrows(OwnerPermissionException.class,
@@ -131,7 +170,7 @@ public class BookingServiceTest {
                 .thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
                 .thenReturn(Optional.of(nextBooking));
 
         final BookingValidationException e = Assertions.assertThrows(BookingValidationException.class,
@@ -142,11 +181,11 @@ public class BookingServiceTest {
 
     @Test
     void should_not_get_booking_by_wrong_user_id() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(secondUser));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
                 .thenReturn(Optional.of(nextBooking));
 
         final NotFoundException e = Assertions.assertThrows(NotFoundException.class,
@@ -157,12 +196,113 @@ public class BookingServiceTest {
                 e.getMessage());
     }
 
+    @Test
+    void should_not_get_booking_by_unknown_user() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
+                .thenReturn(Optional.of(nextBooking));
+
+        final NotFoundException e = Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.getBookingById(nextBooking.getId(), 100L));
+
+        assertEquals(String.format("Пользователь c id %s не найден", 100L), e.getMessage());
+    }
+
+    @Test
+    void should_get_booking_by_booker_without_user_lookup() {
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
+                .thenReturn(Optional.of(nextBooking));
+
+        BookingDtoResponse bookingDtoForTest = bookingService.getBookingById(nextBooking.getId(), user.getId());
+
+        assertThat(bookingDtoForTest)
+                .hasFieldOrPropertyWithValue("id", nextBooking.getId())
+                .hasFieldOrPropertyWithValue("status", nextBooking.getStatus());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void should_get_only_bookings_visible_to_user_by_ids() {
+        User stranger = new User(3L, "stranger", "stranger@mail.com");
+        Item foreignItem = new Item(2L, "foreign", "description", Boolean.TRUE);
+        foreignItem.setOwner(stranger);
+        Booking foreignBooking = new Booking(3L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                foreignItem, stranger, BookingStatus.WAITING);
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerByIdInOrderById(anyList()))
+                .thenReturn(List.of(lastBooking, nextBooking, foreignBooking));
+
+        List<BookingDtoResponse> bookings = bookingService.getBookingsByIds(
+                List.of(lastBooking.getId(), nextBooking.getId(), foreignBooking.getId()), user.getId());
+
+        assertThat(bookings).extracting(BookingDtoResponse::getId)
+                .containsExactly(lastBooking.getId(), nextBooking.getId());
+        verify(userRepository).existsById(user.getId());
+    }
+
+    @Test
+    void should_not_get_bookings_by_ids_for_unknown_user() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+        when(bookingRepository.findWithItemAndBookerByIdInOrderById(anyList()))
+                .thenReturn(List.of(nextBooking));
+
+        final NotFoundException e = Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.getBookingsByIds(List.of(nextBooking.getId()), 100L));
+
+        assertEquals(String.format("Пользователь c id %s не найден", 100L), e.getMessage());
+    }
+
+    @Test
+    void should_not_get_more_bookings_than_limit() {
+        final TooManyIdsException e = Assertions.assertThrows(TooManyIdsException.class,
+                () -> bookingService.getBookingsByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), user.getId()));
+
+        assertEquals("Можно запросить не более 6 объектов, запрошено 7", e.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void should_not_create_booking_overlapping_approved_booking() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(secondUser));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(anyLong(),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        final BookingConflictException e = Assertions.assertThrows(BookingConflictException.class,
+                () -> bookingService.addBooking(secondUser.getId(), bookingDtoRequest));
+
+        assertEquals(String.format("Вещь с id %s уже забронирована с %s по %s", item.getId(),
+                bookingDtoRequest.getStart(), bookingDtoRequest.getEnd()), e.getMessage());
+    }
+
+    @Test
+    void should_not_approve_booking_overlapping_approved_booking() {
+        nextBooking.setStatus(BookingStatus.WAITING);
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
+                .thenReturn(Optional.of(nextBooking));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartIsBeforeAndEndIsAfter(anyLong(),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        Assertions.assertThrows(BookingConflictException.class,
+                () -> bookingService.changeBookingStatus(nextBooking.getId(), user.getId(), Boolean.TRUE));
+
+        verify(itemRepository).forceIncrementVersion(item);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void should_change_status_to_rejected() {
         nextBooking.setStatus(BookingStatus.REJECTED);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findWithItemAndBookerById(anyLong()))
                 .thenReturn(Optional.of(nextBooking));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(nextBooking);
@@ -177,11 +317,85 @@ public class BookingServiceTest {
                 .hasFieldOrPropertyWithValue("status", bookingDtoForTest.getStatus());
     }
 
+    @Test
+    void should_change_statuses_in_one_update_with_per_id_results() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        Item foreignItem = new Item(2L, "item 2", "description", Boolean.TRUE);
+        foreignItem.setOwner(secondUser);
+        Booking waiting = new Booking(10L, start, start.plusDays(1), item, secondUser, BookingStatus.WAITING);
+        Booking overlapping = new Booking(11L, start.plusHours(12), start.plusDays(2), item, secondUser,
+                BookingStatus.WAITING);
+        Booking approved = new Booking(12L, start.plusDays(5), start.plusDays(6), item, secondUser,
+                BookingStatus.APPROVED);
+        Booking foreign = new Booking(13L, start, start.plusDays(1), foreignItem, user, BookingStatus.WAITING);
+        when(bookingRepository.findAllById(anyList()))
+                .thenReturn(List.of(waiting, overlapping, approved, foreign));
+        when(itemRepository.findAllById(anySet()))
+                .thenReturn(List.of(item));
+        when(bookingRepository.findByItem_IdInAndStatusAndStartIsBeforeAndEndIsAfter(anySet(),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(itemRepository.forceIncrementVersions(List.of(item)))
+                .thenReturn(1);
+        when(bookingRepository.updateStatusIfVersionUnchanged(List.of(waiting), BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        List<BookingBatchResultDto> results = bookingService.changeBookingStatuses(user.getId(),
+                List.of(10L, 11L, 12L, 13L, 14L, 10L), true);
+
+        assertThat(results).extracting(BookingBatchResultDto::getId).containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(BookingStatus.APPROVED,
+                BookingStatus.WAITING, BookingStatus.APPROVED, null, null);
+        assertThat(results).extracting(BookingBatchResultDto::getError).containsExactly(null,
+                String.format("Вещь с id %s уже забронирована с %s по %s", item.getId(), overlapping.getStart(),
+                        overlapping.getEnd()),
+                "Бронирование уже подтверждено",
+                String.format("Пользователь c id %s не является владельцем вещи", user.getId()),
+                "Бронирование с id 14 не найдено");
+        verify(bookingRepository).updateStatusIfVersionUnchanged(List.of(waiting), BookingStatus.APPROVED);
+        verify(itemRepository).forceIncrementVersions(List.of(item));
+    }
+
+    @Test
+    void should_not_change_statuses_without_booking_ids() {
+        final BookingValidationException e = Assertions.assertThrows(BookingValidationException.class,
+                () -> bookingService.changeBookingStatuses(user.getId(), null, true));
+
+        assertEquals("Не указаны бронирования для изменения статуса", e.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void should_not_change_more_statuses_than_limit() {
+        final TooManyIdsException e = Assertions.assertThrows(TooManyIdsException.class,
+                () -> bookingService.changeBookingStatuses(user.getId(), List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), true));
+
+        assertEquals("Можно запросить не более 6 объектов, запрошено 7", e.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void should_retry_batch_when_booking_changed_concurrently() {
+        Booking waiting = new Booking(10L, LocalDateTime.now().plusDays(10), LocalDateTime.now().plusDays(11),
+                item, secondUser, BookingStatus.WAITING);
+        when(bookingRepository.findAllById(anyList()))
+                .thenReturn(List.of(waiting));
+        when(bookingRepository.updateStatusIfVersionUnchanged(List.of(waiting), BookingStatus.REJECTED))
+                .thenReturn(0);
+
+        Assertions.assertThrows(ConcurrentUpdateException.class,
+                () -> bookingService.changeBookingStatuses(user.getId(), List.of(10L), false));
+
+        verify(bookingRepository, times(3)).updateStatusIfVersionUnchanged(List.of(waiting), BookingStatus.REJECTED);
+        verify(itemRepository, never()).findAllById(anySet());
+    }
+
     @Test
     void should_find_all_bookings_by_user_id() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_Id(anyLong(), any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.ALL),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(List.of(lastBooking, nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByUserId(
@@ -198,10 +412,10 @@ public class BookingServiceTest {
 
     @Test
     void should_find_all_bookings_by_user_id_and_current_state() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.CURRENT),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByUserId(
@@ -210,12 +424,26 @@ public class BookingServiceTest {
         assertThat(bookings).isEmpty();
     }
 
+    @Test
+    void should_not_return_bookings_by_unknown_user_id() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.ALL),
+                any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        final NotFoundException e = Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.getAllBookingsByUserId(100L, "ALL", 0, 10));
+
+        assertEquals(String.format("Пользователь c id %s не найден", 100L), e.getMessage());
+    }
+
     @Test
     void should_find_all_bookings_by_user_id_and_past_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_IdAndEndIsBefore(anyLong(), any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.PAST),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(lastBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByUserId(
@@ -232,8 +460,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_user_id_and_future_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_IdAndStartIsAfter(anyLong(), any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.FUTURE),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByUserId(
@@ -250,8 +478,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_user_id_and_rejected_status() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_IdAndStatus(anyLong(), any(BookingStatus.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByUserId(
@@ -268,8 +496,8 @@ public class BookingServiceTest {
     void should_not_return_bookings_by_user_id_and_wrong_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(secondUser));
-        when(bookingRepository.findByBooker_IdAndStatus(anyLong(), any(BookingStatus.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         final BookingWrongStatusException e = Assertions.assertThrows(
@@ -283,7 +511,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_item_owner_id() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_Id(anyLong(), any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.ALL),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(List.of(lastBooking, nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByItemOwnerId(
@@ -300,10 +529,10 @@ public class BookingServiceTest {
 
     @Test
     void should_find_all_bookings_by_item_owner_id_and_current_state() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.CURRENT),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByItemOwnerId(
@@ -317,8 +546,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_item_owner_id_and_past_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_IdAndEndIsBefore(anyLong(), any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.PAST),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(lastBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByItemOwnerId(
@@ -335,8 +564,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_item_owner_id_and_future_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_IdAndStartIsAfter(anyLong(), any(LocalDateTime.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.FUTURE),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByItemOwnerId(
@@ -353,8 +582,8 @@ public class BookingServiceTest {
     void should_find_all_bookings_by_item_owner_id_and_rejected_status() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_IdAndStatus(anyLong(), any(BookingStatus.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(nextBooking));
 
         List<BookingDtoResponse> bookings = bookingService.getAllBookingsByItemOwnerId(
@@ -371,8 +600,8 @@ public class BookingServiceTest {
     void should_not_return_bookings_by_item_owner_id_and_wrong_state() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_Owner_IdAndStatus(anyLong(), any(BookingStatus.class),
-                any(PageRequest.class)))
+        when(bookingRepository.findByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         final BookingWrongStatusException e = Assertions.assertThrows(
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class VirtualThreadsTomcatCustomizerTest {
+
+    @Test
+    void should_set_virtual_thread_executor_only_when_supported() {
+        VirtualThreadsTomcatCustomizer customizer = new VirtualThreadsTomcatCustomizer();
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        customizer.customize(protocolHandler);
+        customizer.destroy();
+
+        if (Runtime.version().feature() >= 21) {
+            verify(protocolHandler).setExecutor(any(Executor.class));
+        } else {
+            verify(protocolHandler, never()).setExecutor(any(Executor.class));
+        }
+    }
+}
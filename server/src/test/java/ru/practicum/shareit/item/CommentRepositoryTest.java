@@ -41,4 +41,11 @@ public class CommentRepositoryTest {
         assertEquals("text", comments.get(0).getText());
     }
 
+    @Test
+    void should_find_comments_by_item_ids() {
+        final List<Comment> comments = commentRepository.findByItem_IdInOrderByCreatedDesc(List.of(item.getId()));
+
+        assertEquals(1, comments.size());
+        assertEquals(user.getName(), comments.get(0).getAuthor().getName());
+    }
 }
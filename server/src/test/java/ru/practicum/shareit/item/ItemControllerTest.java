@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.*;
@@ -17,10 +18,13 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -93,9 +97,45 @@ public class ItemControllerTest {
         verify(itemService, times(1)).deleteItemById(anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void should_get_items_by_ids() {
+        itemDtoWithBooking.setEtag("item-1-0-0-0-0-0-0");
+        when(itemService.getItemsByIds(List.of(1L, 2L), 1L))
+                .thenReturn(List.of(itemDtoWithBooking));
+
+        mockMvc.perform(get("/items?ids=1,2")
+                        .header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(itemDtoWithBooking.getId()))
+                .andExpect(jsonPath("$[0].name").value(itemDtoWithBooking.getName()))
+                .andExpect(jsonPath("$[0].etag").doesNotExist());
+        verify(itemService, never()).getAllItemsByUserId(anyLong(), anyInt(), anyInt());
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void should_look_up_items_by_ids_with_etags() {
+        itemDtoWithBooking.setEtag("item-1-0-0-0-0-0-0");
+        when(itemService.getItemsByIds(List.of(1L, 2L), 1L))
+                .thenReturn(List.of(itemDtoWithBooking));
+
+        mockMvc.perform(get("/items/lookups?ids=1,2")
+                        .header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(itemDtoWithBooking.getId()))
+                .andExpect(jsonPath("$[0].etag").value("item-1-0-0-0-0-0-0"))
+                .andExpect(jsonPath("$[0].value.name").value(itemDtoWithBooking.getName()));
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void should_get_item_by_id() {
+        itemDtoWithBooking.setEtag("item-1-0-0-0-0-0-0");
         when(itemService.getItemById(anyLong(), anyLong()))
                 .thenReturn(itemDtoWithBooking);
 
@@ -104,6 +144,7 @@ public class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(itemDtoWithBooking)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0-0-0-0-0-0\""))
                 .andExpect(jsonPath("$.id").value(itemDto.getId()))
                 .andExpect(jsonPath("$.name").value(itemDto.getName()))
                 .andExpect(jsonPath("$.description").value(itemDto.getDescription()))
@@ -111,6 +152,20 @@ public class ItemControllerTest {
         verify(itemService, times(1)).getItemById(anyLong(), anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void should_return_not_modified_for_matching_etag() {
+        itemDtoWithBooking.setEtag("item-1-0-0-0-0-0-0");
+        when(itemService.getItemById(anyLong(), anyLong()))
+                .thenReturn(itemDtoWithBooking);
+
+        mockMvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-0-0-0-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @SneakyThrows
     void should_get_all_items_by_user_id() {
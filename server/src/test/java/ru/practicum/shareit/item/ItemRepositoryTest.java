@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
@@ -25,6 +26,8 @@ public class ItemRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private ItemRequestRepository requestRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private static User user;
     private static Item item;
     private static User secondUser;
@@ -61,6 +64,21 @@ public class ItemRepositoryTest {
         assertEquals("item 2", items.get(1).getName());
     }
 
+    @Test
+    void should_search_only_available_items_ordered_by_relevance() {
+        Item byDescription = itemRepository.save(new Item(3L, "drill", "power item", true));
+        itemRepository.save(new Item(4L, "item 4", "hidden", false));
+        Item exactName = itemRepository.save(new Item(5L, "Item", "exact name", true));
+
+        List<Item> items = itemRepository.search("item", pageRequest);
+
+        assertEquals(4, items.size());
+        assertEquals(exactName.getId(), items.get(0).getId());
+        assertEquals("item 1", items.get(1).getName());
+        assertEquals("item 2", items.get(2).getName());
+        assertEquals(byDescription.getId(), items.get(3).getId());
+    }
+
     @Test
     void should_find_items_by_request_id() {
         ItemRequest request = requestRepository.save(
@@ -70,4 +88,36 @@ public class ItemRepositoryTest {
 
         assertEquals(1, items.size());
     }
+
+    @Test
+    void should_find_items_by_request_ids() {
+        ItemRequest request = requestRepository.save(
+                new ItemRequest(1L, "description", user, LocalDateTime.now()));
+        ItemRequest secondRequest = requestRepository.save(
+                new ItemRequest(2L, "description 2", secondUser, LocalDateTime.now()));
+        item.setRequest(request);
+        secondItem.setRequest(secondRequest);
+        final List<Item> items = itemRepository.findByRequest_IdInOrderById(
+                List.of(request.getId(), secondRequest.getId()));
+
+        assertEquals(2, items.size());
+        assertEquals(request.getId(), items.get(0).getRequest().getId());
+        assertEquals(secondRequest.getId(), items.get(1).getRequest().getId());
+    }
+
+    @Test
+    void should_increment_versions_only_of_unchanged_items_in_one_statement() {
+        Item stale = new Item(secondItem.getId(), secondItem.getName(), secondItem.getDescription(), true);
+        secondItem.setName("item 2 renamed");
+        itemRepository.saveAndFlush(secondItem);
+        long itemVersion = item.getVersion();
+        long secondItemVersion = secondItem.getVersion();
+
+        int updated = itemRepository.forceIncrementVersions(List.of(item, stale));
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertEquals(itemVersion + 1, itemRepository.findById(item.getId()).orElseThrow().getVersion());
+        assertEquals(secondItemVersion, itemRepository.findById(secondItem.getId()).orElseThrow().getVersion());
+    }
 }
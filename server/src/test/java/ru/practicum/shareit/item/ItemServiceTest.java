@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -10,11 +13,15 @@ import ru.practicum.shareit.exception.OwnerPermissionException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.utils.CustomPageRequest;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,10 +32,12 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 public class ItemServiceTest {
+    private static final int MAX_IDS = 3;
     private static ItemService itemService;
     private static ItemRepository itemRepository;
     private static UserRepository userRepository;
@@ -67,8 +76,10 @@ public class ItemServiceTest {
         commentRepository = Mockito.mock(CommentRepository.class);
         itemRequestRepository = Mockito.mock(ItemRequestRepository.class);
         bookingRepository = Mockito.mock(BookingRepository.class);
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
-                commentRepository, itemRequestRepository);
+        itemService = new ItemServiceImpl(itemRepository, new UserLookup(userRepository, new NoOpCacheManager()), bookingRepository,
+                commentRepository, itemRequestRepository, new DatabaseItemSearchEngine(itemRepository),
+                new OptimisticLockRetryTemplate(Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3),
+                new IdListLimit(MAX_IDS));
         item.setName("item");
     }
 
@@ -121,6 +132,12 @@ public class ItemServiceTest {
                 .thenReturn(Optional.of(user));
         when(itemRepository.findByOwner_IdOrderById(anyLong(), any(CustomPageRequest.class)))
                 .thenReturn(items);
+        when(bookingRepository.findLastBookings(anyList(), any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookings(anyList(), any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(nextBooking));
+        when(commentRepository.findByItem_IdInOrderByCreatedDesc(anyList()))
+                .thenReturn(Collections.singletonList(comment));
 
         List<ItemDtoWithBooking> itemDtos = itemService.getAllItemsByUserId(user.getId(), 1, 10);
 
@@ -132,15 +149,23 @@ public class ItemServiceTest {
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("name",item.getName());
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("description", item.getDescription());
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("available", item.getAvailable());
+                    assertThat(list.get(0).getLastBooking().getId()).isEqualTo(lastBooking.getId());
+                    assertThat(list.get(0).getNextBooking().getId()).isEqualTo(nextBooking.getId());
+                    assertThat(list.get(0).getComments()).hasSize(1);
                 });
+        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(anyLong());
     }
 
     @Test
     void should_find_item_by_id() {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByItem_IdAndStatus(anyLong(), any(BookingStatus.class)))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(anyLong(),
+                any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(lastBooking));
+        when(bookingRepository.findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(anyLong(),
+                any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(nextBooking));
         when(commentRepository.findByItem_IdOrderByCreatedDesc(anyLong()))
                 .thenReturn(Collections.singletonList(comment));
 
@@ -158,6 +183,52 @@ public class ItemServiceTest {
 
     }
 
+    @Test
+    void should_find_items_by_ids_with_same_etag_as_single_lookup() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(itemRepository.findByIdInOrderById(anyList()))
+                .thenReturn(List.of(item));
+        when(bookingRepository.findFirstByItem_IdAndStatusAndStartIsBeforeOrderByStartDesc(anyLong(),
+                any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(lastBooking));
+        when(bookingRepository.findFirstByItem_IdAndStatusAndStartIsAfterOrderByStartAsc(anyLong(),
+                any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(nextBooking));
+        when(bookingRepository.findLastBookings(anyList(), any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookings(anyList(), any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(nextBooking));
+        when(commentRepository.findByItem_IdOrderByCreatedDesc(anyLong()))
+                .thenReturn(List.of(comment));
+        when(commentRepository.findByItem_IdInOrderByCreatedDesc(anyList()))
+                .thenReturn(List.of(comment));
+
+        List<ItemDtoWithBooking> items = itemService.getItemsByIds(List.of(item.getId(), 99L), user.getId());
+
+        assertEquals(1, items.size());
+        assertEquals(lastBooking.getId(), items.get(0).getLastBooking().getId());
+        assertEquals(nextBooking.getId(), items.get(0).getNextBooking().getId());
+        assertEquals(1, items.get(0).getComments().size());
+        assertEquals(itemService.getItemById(item.getId(), user.getId()).getEtag(), items.get(0).getEtag());
+    }
+
+    @Test
+    void should_hide_bookings_of_items_not_owned_in_batch() {
+        when(itemRepository.findByIdInOrderById(anyList()))
+                .thenReturn(List.of(item));
+        when(commentRepository.findByItem_IdInOrderByCreatedDesc(anyList()))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemDtoWithBooking> items = itemService.getItemsByIds(List.of(item.getId()), 2L);
+
+        assertThat(items.get(0))
+                .hasFieldOrPropertyWithValue("lastBooking", null)
+                .hasFieldOrPropertyWithValue("nextBooking", null);
+        verify(bookingRepository, never()).findLastBookings(anyList(), any(BookingStatus.class),
+                any(LocalDateTime.class));
+    }
+
     @Test
     void should_search_items_by_text() {
         final List<Item> items = new ArrayList<>(Collections.singleton(item));
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class InMemoryItemSearchEngineTest {
+    private ItemRepository itemRepository;
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = Mockito.mock(ItemRepository.class);
+        Item drill = new Item(1L, "Клей-дрель", "Простая дрель", Boolean.TRUE);
+        Item glue = new Item(2L, "Дрель", "Тюбик клея", Boolean.TRUE);
+        when(itemRepository.findByIdGreaterThanOrderById(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(drill, glue));
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        searchEngine.rebuild();
+        clearInvocations(itemRepository);
+    }
+
+    @Test
+    void should_answer_from_index_without_database() {
+        List<ItemDto> items = searchEngine.search("дрель", 0, 10);
+
+        assertEquals(List.of(2L, 1L), ids(items));
+        assertEquals("Тюбик клея", items.get(0).getDescription());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void should_search_database_for_text_shorter_than_gram() {
+        Item glue = new Item(1L, "Клей-дрель", "Простая дрель", Boolean.TRUE);
+        when(itemRepository.search(eq("ей"), any(PageRequest.class)))
+                .thenReturn(List.of(glue));
+
+        List<ItemDto> items = searchEngine.search("ей", 0, 10);
+
+        assertEquals(List.of(1L), ids(items));
+        verify(itemRepository).search(eq("ей"), any(PageRequest.class));
+    }
+
+    @Test
+    void should_keep_newer_version_when_commits_are_reordered() {
+        Item renamed = new Item(1L, "Перфоратор", "Простой", Boolean.TRUE);
+        renamed.setVersion(2);
+        Item stale = new Item(1L, "Клей-дрель", "Простая дрель", Boolean.TRUE);
+        stale.setVersion(1);
+
+        searchEngine.index(renamed);
+        searchEngine.index(stale);
+
+        assertEquals(List.of(2L), ids(searchEngine.search("дрель", 0, 10)));
+        assertEquals(List.of(1L), ids(searchEngine.search("перфоратор", 0, 10)));
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(new ItemDto(1L, "Дрель", "Простая дрель", Boolean.TRUE), 0);
+        index.put(new ItemDto(2L, "Аккумуляторная отвёртка", "Аккумулятор на 2 часа", Boolean.TRUE), 0);
+        index.put(new ItemDto(3L, "Клей", "Тюбик суперклея и дрель в подарок", Boolean.TRUE), 0);
+        index.put(new ItemDto(4L, "Дрель ударная", "Сломана", Boolean.FALSE), 0);
+    }
+
+    @Test
+    void should_find_available_items_by_substring_ordered_by_relevance() {
+        List<ItemDto> items = index.search("дРеЛь", 0, 10);
+
+        assertEquals(List.of(1L, 3L), ids(items));
+        assertEquals("Простая дрель", items.get(0).getDescription());
+    }
+
+    @Test
+    void should_apply_from_and_size() {
+        assertEquals(List.of(3L), ids(index.search("дрель", 1, 1)));
+    }
+
+    @Test
+    void should_rank_exact_name_before_name_and_description_matches() {
+        index.put(new ItemDto(6L, "Дрель-шуруповёрт", "Два аккумулятора", Boolean.TRUE), 0);
+        index.put(new ItemDto(5L, "Дрель", "Копия", Boolean.TRUE), 0);
+
+        assertEquals(List.of(1L, 5L, 6L, 3L), ids(index.search("дрель", 0, 10)));
+    }
+
+    @Test
+    void should_leave_text_shorter_than_gram_to_database() {
+        assertFalse(ItemSearchIndex.isSearchable("ЕЙ"));
+        assertTrue(ItemSearchIndex.isSearchable("клей"));
+        assertTrue(index.search("ЕЙ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void should_index_ids_beyond_int_range() {
+        long id = Integer.MAX_VALUE + 10L;
+        index.put(new ItemDto(id, "Дрель", "Большой склад", Boolean.TRUE), 0);
+
+        assertEquals(List.of(1L, id, 3L), ids(index.search("дрель", 0, 10)));
+
+        index.remove(id);
+
+        assertEquals(List.of(1L, 3L), ids(index.search("дрель", 0, 10)));
+    }
+
+    @Test
+    void should_reindex_updated_and_removed_items() {
+        index.put(new ItemDto(4L, "Дрель ударная", "Починили", Boolean.TRUE), 1);
+        index.put(new ItemDto(1L, "Перфоратор", "Простой", Boolean.TRUE), 1);
+        index.remove(3L);
+
+        assertEquals(List.of(4L), ids(index.search("дрель", 0, 10)));
+        assertTrue(index.search("тюбик", 0, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void should_ignore_updates_older_than_indexed_version() {
+        index.put(new ItemDto(1L, "Перфоратор", "Простой", Boolean.TRUE), 2);
+        index.put(new ItemDto(1L, "Дрель", "Простая дрель", Boolean.TRUE), 1);
+        index.put(new ItemDto(4L, "Дрель ударная", "Сломана", Boolean.FALSE), 3);
+        index.put(new ItemDto(4L, "Дрель ударная", "Починили", Boolean.TRUE), 2);
+        index.remove(3L);
+        index.put(new ItemDto(3L, "Клей", "Тюбик суперклея и дрель в подарок", Boolean.TRUE), 5);
+
+        assertTrue(index.search("дрель", 0, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("перфоратор", 0, 10)));
+        assertEquals(2, index.size());
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
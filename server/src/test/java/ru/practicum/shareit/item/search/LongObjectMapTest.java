@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LongObjectMapTest {
+
+    @Test
+    void should_put_replace_and_remove_values() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(1L, "one");
+        map.put(-7L, "minus seven");
+        map.put(1L, "uno");
+
+        assertEquals("uno", map.get(1L));
+        assertEquals("minus seven", map.remove(-7L));
+        assertNull(map.get(-7L));
+        assertNull(map.remove(-7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void should_match_hash_map_under_random_updates() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                map.put(key, (long) i);
+                expected.put(key, (long) i);
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "shareit.monitoring.slow-query-threshold=0ms")
+public class QueryMetricsTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final EntityManager em;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0L, "owner", "owner@metrics.com"));
+        booker = userRepository.save(new User(0L, "booker", "booker@metrics.com"));
+        Item item = new Item(0L, "item", "description", true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        LocalDateTime now = LocalDateTime.now();
+        booking = bookingRepository.save(new Booking(0L, now.minusDays(2), now.minusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(0L, now.plusDays(1), now.plusDays(2), item, booker,
+                BookingStatus.APPROVED));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @SneakyThrows
+    void should_record_statements_and_loaded_entities_per_handler(CapturedOutput output) {
+        mockMvc.perform(get("/items").header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        String handler = "ItemController.getAllItemsByUserId";
+        DistributionSummary statements = summary("shareit.request.statements", handler);
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(4);
+        assertThat(summary("shareit.request.entities.loaded", handler).totalAmount()).isEqualTo(3);
+        assertThat(summary("shareit.request.lazy.initializations", handler).totalAmount()).isZero();
+        Timer jdbcTime = meterRegistry.get("shareit.request.jdbc.time").tag("handler", handler).timer();
+        assertThat(jdbcTime.count()).isEqualTo(1);
+        assertThat(output).contains("Slow query", handler);
+    }
+
+    @Test
+    @SneakyThrows
+    void should_list_bookings_without_lazy_initializations() {
+        mockMvc.perform(get("/bookings").header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk());
+
+        String handler = "BookingController.getAllBookingsByUserId";
+        assertThat(summary("shareit.request.statements", handler).totalAmount()).isEqualTo(1);
+        assertThat(summary("shareit.request.entities.loaded", handler).totalAmount()).isEqualTo(4);
+        assertThat(summary("shareit.request.lazy.initializations", handler).totalAmount()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void should_get_booking_without_lazy_initializations() {
+        mockMvc.perform(get("/bookings/{id}", booking.getId()).header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk());
+
+        String handler = "BookingController.getBookingById";
+        assertThat(summary("shareit.request.statements", handler).totalAmount()).isEqualTo(1);
+        assertThat(summary("shareit.request.entities.loaded", handler).totalAmount()).isEqualTo(3);
+        assertThat(summary("shareit.request.lazy.initializations", handler).totalAmount()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void should_count_lazy_initializations() {
+        Comment comment = new Comment(0L, "comment", booking.getItem(), booker, LocalDateTime.now());
+        commentRepository.save(comment);
+        em.flush();
+        em.clear();
+
+        mockMvc.perform(get("/items/{id}", booking.getItem().getId()).header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk());
+
+        String handler = "ItemController.getItemById";
+        assertThat(summary("shareit.request.statements", handler).totalAmount()).isEqualTo(3);
+        assertThat(summary("shareit.request.lazy.initializations", handler).totalAmount()).isEqualTo(1);
+    }
+
+    private DistributionSummary summary(String name, String handler) {
+        return meterRegistry.get(name).tag("handler", handler).summary();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDtoWithRequest;
@@ -23,6 +24,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -67,6 +69,7 @@ public class ItemRequestControllerTest {
     @Test
     @SneakyThrows
     void should_get_request_by_id() {
+        itemRequestResponseDto.setEtag("request-1-0-0-0");
         when(itemRequestService.getItemRequestById(anyLong(), anyLong()))
                 .thenReturn(itemRequestResponseDto);
 
@@ -74,6 +77,7 @@ public class ItemRequestControllerTest {
                         .header(USER_ID_HEADER, "1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"request-1-0-0-0\""))
                 .andExpect(jsonPath("$.id").value(itemRequestResponseDto.getId()))
                 .andExpect(jsonPath("$.description").value(itemRequestResponseDto.getDescription()));
         verify(itemRequestService, times(1)).getItemRequestById(anyLong(), anyLong());
@@ -106,7 +110,22 @@ public class ItemRequestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(0));
-        verify(itemRequestService, times(1)).getAllRequestsByUserId(anyLong());
+        verify(itemRequestService, times(1)).getAllRequestsByUserId(1L);
+        verify(itemRequestService, never()).getAllRequestsByUserId(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void should_get_page_of_requests_by_user_id() {
+        when(itemRequestService.getAllRequestsByUserId(anyLong(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/requests")
+                        .header(USER_ID_HEADER, "1")
+                        .param("from", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(itemRequestService, times(1)).getAllRequestsByUserId(1L, 20, 10);
     }
 
 }
@@ -46,6 +46,17 @@ public class ItemRequestRepositoryTest {
         assertEquals("description", requests.get(0).getDescription());
     }
 
+    @Test
+    void should_find_by_requestor_id_with_pagination() {
+        requestRepository.save(new ItemRequest(3L, "description 3", user, LocalDateTime.now().plusMinutes(1)));
+
+        final List<ItemRequest> requests = requestRepository.findByRequestor_IdOrderByCreatedDesc(user.getId(),
+                new CustomPageRequest(0, 1, Sort.unsorted()));
+
+        assertEquals(1, requests.size());
+        assertEquals("description 3", requests.get(0).getDescription());
+    }
+
     @Test
     void should_find_by_not_requestor_id() {
         final List<ItemRequest> requests = requestRepository.findByRequestor_IdIsNotOrderByCreatedDesc(user.getId(),
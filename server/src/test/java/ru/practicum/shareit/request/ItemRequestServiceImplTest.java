@@ -70,7 +70,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void should_get_all_requests_by_user_id() {
-        List<ItemRequestResponseDto> responseDtos = requestService.getAllRequestsByUserId(userDto.getId());
+        List<ItemRequestResponseDto> responseDtos = requestService.getAllRequestsByUserId(userDto.getId(), 0, 10);
 
         Assertions.assertThat(responseDtos)
                 .isNotEmpty()
@@ -79,6 +79,17 @@ public class ItemRequestServiceImplTest {
                         requestDto.getDescription()));
     }
 
+    @Test
+    void should_get_all_requests_by_user_id_without_pagination() {
+        for (int i = 0; i < 11; i++) {
+            requestService.addItemRequest(new ItemRequestDto("description " + i), userDto.getId());
+        }
+
+        List<ItemRequestResponseDto> responseDtos = requestService.getAllRequestsByUserId(userDto.getId());
+
+        Assertions.assertThat(responseDtos).hasSize(12);
+    }
+
     @Test
     void should_get_all_requests() {
         ItemRequestDto secondRequestDto = new ItemRequestDto("description 2");
@@ -8,8 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.TooManyIdsException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 
@@ -17,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -82,9 +85,56 @@ public class UserControllerTest {
         verify(userService, times(1)).deleteUserById(anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void should_get_users_by_ids() {
+        userDto.setEtag("user-1-0");
+        when(userService.getUsersByIds(List.of(1L, 2L)))
+                .thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users?ids=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(userDto.getId()))
+                .andExpect(jsonPath("$[0].name").value(userDto.getName()))
+                .andExpect(jsonPath("$[0].etag").doesNotExist())
+                .andExpect(jsonPath("$[0].value").doesNotExist());
+        verify(userService, never()).getAllUsers();
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void should_look_up_users_by_ids_with_etags() {
+        userDto.setEtag("user-1-0");
+        when(userService.getUsersByIds(List.of(1L, 2L)))
+                .thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users/lookups?ids=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(userDto.getId()))
+                .andExpect(jsonPath("$[0].etag").value("user-1-0"))
+                .andExpect(jsonPath("$[0].value.name").value(userDto.getName()))
+                .andExpect(jsonPath("$[0].value.etag").doesNotExist());
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void should_not_get_users_by_too_many_ids() {
+        when(userService.getUsersByIds(anyList()))
+                .thenThrow(new TooManyIdsException("Можно запросить не более 1 объектов, запрошено 2"));
+
+        mockMvc.perform(get("/users?ids=1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description").value("Можно запросить не более 1 объектов, запрошено 2"));
+    }
+
     @Test
     @SneakyThrows
     void should_get_user_by_id() {
+        userDto.setEtag("user-1-0");
         when(userService.getUserById(anyLong()))
                 .thenReturn(userDto);
 
@@ -92,12 +142,28 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(userDto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-0\""))
                 .andExpect(jsonPath("$.id").value(userDto.getId()))
                 .andExpect(jsonPath("$.name").value(userDto.getName()))
-                .andExpect(jsonPath("$.email").value(userDto.getEmail()));
+                .andExpect(jsonPath("$.email").value(userDto.getEmail()))
+                .andExpect(jsonPath("$.etag").doesNotExist());
         verify(userService, times(1)).getUserById(anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void should_return_not_modified_for_matching_etag() {
+        userDto.setEtag("user-1-0");
+        when(userService.getUserById(anyLong()))
+                .thenReturn(userDto);
+
+        mockMvc.perform(get("/users/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-0\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @SneakyThrows
     void should_get_all_users() {
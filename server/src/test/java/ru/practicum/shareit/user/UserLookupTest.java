@@ -0,0 +1,91 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class UserLookupTest {
+    private final UserService userService;
+    private final UserLookup userLookup;
+    private final CacheManager cacheManager;
+    private final PlatformTransactionManager transactionManager;
+    @SpyBean
+    private UserRepository userRepository;
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        userDto = userService.addUser(new UserDtoRequest("cached user", "cached@mail.com"));
+        clearInvocations(userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUserById(userDto.getId());
+    }
+
+    @Test
+    void should_load_user_from_repository_once() {
+        userLookup.findById(userDto.getId());
+        userLookup.findById(userDto.getId());
+        userService.getUserById(userDto.getId());
+
+        verify(userRepository, times(1)).findById(userDto.getId());
+    }
+
+    @Test
+    void should_evict_user_on_update() {
+        userLookup.findById(userDto.getId());
+
+        userService.updateUser(new UserDto(userDto.getId(), "new name", null), userDto.getId());
+
+        assertThat(userService.getUserById(userDto.getId()).getName(), equalTo("new name"));
+    }
+
+    @Test
+    void should_evict_user_only_after_commit() {
+        userLookup.findById(userDto.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userLookup.evict(userDto.getId());
+            assertThat(cachedUser(), notNullValue());
+        });
+
+        assertThat(cachedUser(), nullValue());
+    }
+
+    @Test
+    void should_keep_cached_user_when_transaction_rolls_back() {
+        userLookup.findById(userDto.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userLookup.evict(userDto.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(cachedUser(), notNullValue());
+    }
+
+    private Object cachedUser() {
+        return cacheManager.getCache(UserLookup.USERS_CACHE).get(userDto.getId());
+    }
+}
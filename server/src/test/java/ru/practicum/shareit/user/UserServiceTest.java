@@ -1,10 +1,17 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.exception.DuplicateEmailException;
+import ru.practicum.shareit.exception.TooManyIdsException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.IdListLimit;
+import ru.practicum.shareit.utils.OptimisticLockRetryTemplate;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class UserServiceTest {
+    private static final int MAX_IDS = 3;
     private static UserService userService;
     private static UserRepository userRepository;
     private static UserDto userDto;
@@ -34,7 +42,9 @@ public class UserServiceTest {
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, new UserLookup(userRepository, new NoOpCacheManager()),
+                new IdListLimit(MAX_IDS),
+                new OptimisticLockRetryTemplate(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3));
         user.setName("user 1");
     }
 
@@ -89,6 +99,22 @@ public class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void should_retry_user_update_after_optimistic_lock_conflict() {
+        UserDto newUserDto = new UserDto(1L, "new user 1", null);
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .thenReturn(user);
+
+        UserDto userDtoForTest = userService.updateUser(newUserDto, userDto.getId());
+
+        assertThat(userDtoForTest).hasFieldOrPropertyWithValue("name", "new user 1");
+        verify(userRepository, times(2)).findById(userDto.getId());
+        verify(userRepository, times(2)).save(any(User.class));
+    }
+
     @Test
     void should_not_add_user_with_duplicate_email() {
         when(userRepository.save(any(User.class)))
@@ -114,4 +140,13 @@ public class UserServiceTest {
         assertEquals(String.format("Пользователь с email %s уже существует", userDto.getEmail()), e.getMessage());
         verify(userRepository, times(1)).save(any(User.class));
     }
+
+    @Test
+    void should_not_get_more_users_than_limit() {
+        final TooManyIdsException e = Assertions.assertThrows(TooManyIdsException.class,
+                () -> userService.getUsersByIds(List.of(1L, 2L, 3L, 4L)));
+
+        assertEquals("Можно запросить не более 3 объектов, запрошено 4", e.getMessage());
+        verifyNoInteractions(userRepository);
+    }
 }
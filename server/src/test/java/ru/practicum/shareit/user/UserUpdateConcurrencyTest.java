@@ -0,0 +1,62 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:user-updates")
+public class UserUpdateConcurrencyTest {
+    private static final int ROUNDS = 10;
+
+    private final UserService userService;
+
+    @Test
+    @SneakyThrows
+    void should_apply_both_of_concurrent_user_updates() {
+        UserDto user = userService.addUser(new UserDtoRequest("user", "user@updates.com"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                List<UserDto> updates = List.of(
+                        new UserDto(null, "user " + round, null),
+                        new UserDto(null, null, "user" + round + "@updates.com"));
+                CountDownLatch ready = new CountDownLatch(1);
+                List<Future<UserDto>> results = new ArrayList<>();
+                for (UserDto update : updates) {
+                    Callable<UserDto> patch = () -> {
+                        ready.await();
+                        return userService.updateUser(update, user.getId());
+                    };
+                    results.add(executor.submit(patch));
+                }
+                ready.countDown();
+                for (Future<UserDto> result : results) {
+                    assertThat(result.get()).hasFieldOrPropertyWithValue("id", user.getId());
+                }
+                assertThat(userService.getUserById(user.getId()))
+                        .hasFieldOrPropertyWithValue("name", "user " + round)
+                        .hasFieldOrPropertyWithValue("email", "user" + round + "@updates.com");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exception.BookingValidationException;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OptimisticLockRetryTemplateTest {
+    private static final String OPERATION = "approve";
+
+    private MeterRegistry meterRegistry;
+    private OptimisticLockRetryTemplate retryTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryTemplate = new OptimisticLockRetryTemplate(Mockito.mock(PlatformTransactionManager.class),
+                meterRegistry, 3);
+    }
+
+    @Test
+    void should_retry_after_optimistic_lock_conflict() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryTemplate.execute(OPERATION, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+            }
+            return "approved";
+        });
+
+        assertEquals("approved", result);
+        assertEquals(2, calls.get());
+        assertEquals(2.0, count("shareit.optimistic.lock.attempts"));
+        assertEquals(1.0, count("shareit.optimistic.lock.conflicts"));
+        assertEquals(0.0, count("shareit.optimistic.lock.exhausted"));
+    }
+
+    @Test
+    void should_give_up_after_max_attempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        final ConcurrentUpdateException e = Assertions.assertThrows(ConcurrentUpdateException.class,
+                () -> retryTemplate.execute(OPERATION, () -> {
+                    calls.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+                }));
+
+        assertEquals("Данные были изменены параллельным запросом, повторите попытку", e.getMessage());
+        assertEquals(3, calls.get());
+        assertEquals(3.0, count("shareit.optimistic.lock.conflicts"));
+        assertEquals(1.0, count("shareit.optimistic.lock.exhausted"));
+    }
+
+    @Test
+    void should_not_retry_other_exceptions() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Assertions.assertThrows(BookingValidationException.class, () -> retryTemplate.execute(OPERATION, () -> {
+            calls.incrementAndGet();
+            throw new BookingValidationException("Бронирование уже подтверждено");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, count("shareit.optimistic.lock.conflicts"));
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "operation", OPERATION).count();
+    }
+}